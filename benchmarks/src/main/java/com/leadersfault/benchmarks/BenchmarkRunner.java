@@ -0,0 +1,27 @@
+package com.leadersfault.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler always attached, so every result
+ * carries its allocation rate ({@code gc.alloc.rate.norm}) next to the
+ * throughput. Accepts the usual JMH command line, e.g. a name filter.
+ */
+public class BenchmarkRunner {
+
+  public static void main(String[] args)
+    throws RunnerException, CommandLineOptionException {
+    new Runner(
+      new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build()
+    )
+      .run();
+  }
+}
@@ -0,0 +1,59 @@
+package com.leadersfault.benchmarks;
+
+import com.leadersfault.dto.FaultResponse;
+import com.leadersfault.dto.LeaderResponse;
+import com.leadersfault.entity.Fault;
+import com.leadersfault.entity.Leader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Entity-to-DTO mapping for one feed item. Votes are stored as counters, so
+ * {@code votes} should not move the numbers; it stays a parameter to prove
+ * that at the sizes popular faults reach.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+  @Param({ "1", "5" })
+  public int leadersPerFault;
+
+  @Param({ "10", "10000", "1000000" })
+  public int votes;
+
+  private Fault fault;
+  private Leader leader;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    fault = Fixtures.fault(1, leadersPerFault, votes, random);
+    leader = Fixtures.leader(1, random);
+  }
+
+  @Benchmark
+  public FaultResponse faultFromFault() {
+    return FaultResponse.fromFault(fault, "liked", 10);
+  }
+
+  @Benchmark
+  public LeaderResponse leaderFromLeader() {
+    return LeaderResponse.fromLeader(leader, "LIKED");
+  }
+}
@@ -0,0 +1,59 @@
+package com.leadersfault.benchmarks;
+
+import com.leadersfault.entity.Fault;
+import com.leadersfault.entity.Leader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Detached entities shaped like production rows, with a fixed seed. */
+final class Fixtures {
+
+  private Fixtures() {}
+
+  static Leader leader(long id, Random random) {
+    Leader leader = new Leader();
+    leader.setId(id);
+    leader.setName("Leader " + id);
+    leader.setDescription(text(random, 400));
+    leader.setImageUrl(
+      "https://res.cloudinary.com/demo/image/upload/leader-" + id + ".jpg"
+    );
+    leader.setLikes(random.nextInt(50_000));
+    leader.setDislikes(random.nextInt(50_000));
+    leader.setNumberOfFaults(random.nextInt(500));
+    return leader;
+  }
+
+  static Fault fault(long id, int leaderCount, int votes, Random random) {
+    Fault fault = new Fault();
+    fault.setId(id);
+    fault.setTitle("Fault " + id);
+    fault.setDescription(text(random, 1_000));
+    fault.setImageUrl(
+      "https://res.cloudinary.com/demo/image/upload/fault-" + id + ".jpg"
+    );
+    fault.setUploadedBy("user" + random.nextInt(10_000));
+    fault.setCreatedAt(LocalDateTime.now().minusMinutes(id));
+
+    List<Leader> leaders = new ArrayList<>(leaderCount);
+    for (int i = 0; i < leaderCount; i++) {
+      leaders.add(leader(id * 10 + i, random));
+    }
+    fault.setLeaders(leaders);
+
+    int likes = votes == 0 ? 0 : random.nextInt(votes + 1);
+    fault.setLikeCount(likes);
+    fault.setDislikeCount(votes - likes);
+    return fault;
+  }
+
+  private static String text(Random random, int length) {
+    StringBuilder builder = new StringBuilder(length);
+    while (builder.length() < length) {
+      builder.append("lorem ipsum dolor sit amet ".charAt(random.nextInt(27)));
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,60 @@
+package com.leadersfault.benchmarks;
+
+import com.leadersfault.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * RS256 signing and verification as done on login and on every
+ * authenticated request that misses the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+  private JwtUtil jwtUtil;
+  private String token;
+
+  @Setup
+  public void setUp() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    KeyPair keyPair = generator.generateKeyPair();
+    Base64.Encoder encoder = Base64.getEncoder();
+
+    jwtUtil =
+      new JwtUtil(
+        encoder.encodeToString(keyPair.getPrivate().getEncoded()),
+        encoder.encodeToString(keyPair.getPublic().getEncoded()),
+        "http://localhost:8080"
+      );
+    token = jwtUtil.generateToken("benchmark-user", 42L);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtUtil.generateToken("benchmark-user", 42L);
+  }
+
+  @Benchmark
+  public Claims validateAndParse() {
+    return jwtUtil.validateAndParse(token);
+  }
+}
@@ -0,0 +1,63 @@
+package com.leadersfault.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.leadersfault.dto.FaultResponse;
+import com.leadersfault.dto.PaginatedResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Writing one feed page to bytes, as the message converter does. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+  @Param({ "10", "50" })
+  public int pageSize;
+
+  @Param({ "1", "5" })
+  public int leadersPerFault;
+
+  private ObjectMapper objectMapper;
+  private PaginatedResponse<FaultResponse> page;
+
+  @Setup
+  public void setUp() {
+    objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    Random random = new Random(42);
+    List<FaultResponse> content = new ArrayList<>(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      content.add(
+        FaultResponse.fromFault(
+          Fixtures.fault(i + 1, leadersPerFault, random.nextInt(10_000), random),
+          "none",
+          100
+        )
+      );
+    }
+    page = new PaginatedResponse<>(content, 100);
+  }
+
+  @Benchmark
+  public byte[] writePage() throws Exception {
+    return objectMapper.writeValueAsBytes(page);
+  }
+}
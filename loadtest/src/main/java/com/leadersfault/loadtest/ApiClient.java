@@ -0,0 +1,123 @@
+package com.leadersfault.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/** Thin HTTP client for the API calls the workload makes. */
+public class ApiClient {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final HttpClient http;
+  private final String baseUrl;
+
+  public ApiClient(String baseUrl) {
+    this.baseUrl = baseUrl;
+    this.http =
+      HttpClient
+        .newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+  }
+
+  public HttpResponse<String> get(String path, String token)
+    throws IOException, InterruptedException {
+    return send(request(path, token).GET().build());
+  }
+
+  public HttpResponse<String> post(String path, String token)
+    throws IOException, InterruptedException {
+    return send(
+      request(path, token).POST(HttpRequest.BodyPublishers.noBody()).build()
+    );
+  }
+
+  public HttpResponse<String> postJson(String path, Object body)
+    throws IOException, InterruptedException {
+    return send(
+      request(path, null)
+        .header("Content-Type", "application/json")
+        .POST(
+          HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body))
+        )
+        .build()
+    );
+  }
+
+  /**
+   * Posts text parts plus an "image" file part, the shape of the create
+   * endpoints.
+   */
+  public HttpResponse<String> postMultipart(
+    String path,
+    String token,
+    Map<String, String> fields,
+    byte[] image
+  ) throws IOException, InterruptedException {
+    String boundary = "loadtest-" + UUID.randomUUID();
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    for (Map.Entry<String, String> field : fields.entrySet()) {
+      write(
+        body,
+        "--" +
+        boundary +
+        "\r\nContent-Disposition: form-data; name=\"" +
+        field.getKey() +
+        "\"\r\nContent-Type: text/plain; charset=UTF-8\r\n\r\n" +
+        field.getValue() +
+        "\r\n"
+      );
+    }
+    write(
+      body,
+      "--" +
+      boundary +
+      "\r\nContent-Disposition: form-data; name=\"image\"; filename=\"image.jpg\"" +
+      "\r\nContent-Type: image/jpeg\r\n\r\n"
+    );
+    body.write(image);
+    write(body, "\r\n--" + boundary + "--\r\n");
+
+    return send(
+      request(path, token)
+        .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+        .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+        .build()
+    );
+  }
+
+  public static JsonNode json(HttpResponse<String> response)
+    throws IOException {
+    return MAPPER.readTree(response.body());
+  }
+
+  private HttpRequest.Builder request(String path, String token) {
+    HttpRequest.Builder builder = HttpRequest
+      .newBuilder(URI.create(baseUrl + path))
+      .timeout(Duration.ofSeconds(30));
+    if (token != null) {
+      builder.header("Authorization", "Bearer " + token);
+    }
+    return builder;
+  }
+
+  private HttpResponse<String> send(HttpRequest request)
+    throws IOException, InterruptedException {
+    return http.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  private static void write(ByteArrayOutputStream out, String text) {
+    out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,197 @@
+package com.leadersfault.loadtest;
+
+import com.leadersfault.LeadersFaultApplication;
+import com.leadersfault.dto.NotificationEvent;
+import com.leadersfault.entity.NotificationType;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+/**
+ * Compares the notification consumer's per-record and batch listeners.
+ * Each round publishes the same number of events while both listeners are
+ * stopped, starts one listener and times how long it takes to persist and
+ * push the backlog, measured from the first inserted row so the group join
+ * is not counted. Round 0 is a warmup and is not reported. Events are keyed
+ * by recipient like the application's, so {@code --partitions} and
+ * {@code --concurrency} show how draining scales with consumer threads.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dloadtest.main=com.leadersfault.loadtest.ConsumerBenchmark \
+ *   -Dexec.args="--events=20000 --rounds=3 --partitions=6 --concurrency=6"
+ * </pre>
+ */
+public class ConsumerBenchmark {
+
+  private static final String TOPIC = "fault-notifications";
+  private static final String[] LISTENERS = {
+    "notifications-record",
+    "notifications-batch",
+  };
+  private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(10);
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> values = LoadTestOptions.parseArgs(args);
+    int events = LoadTestOptions.intOf(values, "events", 20_000);
+    int rounds = LoadTestOptions.intOf(values, "rounds", 3);
+    int partitions = LoadTestOptions.intOf(values, "partitions", 6);
+    int concurrency = LoadTestOptions.intOf(values, "concurrency", partitions);
+
+    try (LocalStandIns standIns = LocalStandIns.start()) {
+      ConfigurableApplicationContext app = new SpringApplicationBuilder(
+        LeadersFaultApplication.class,
+        LoadTestMain.StubUploads.class
+      )
+        .properties(standIns.applicationProperties())
+        .properties(
+          "notifications.consumer.batch=false",
+          // Every event must land as its own row for the drain count
+          "notifications.coalesce.window=0",
+          "notifications.topic.partitions=" + partitions,
+          "notifications.consumer.concurrency=" + concurrency
+        )
+        .run();
+
+      try {
+        @SuppressWarnings("unchecked")
+        KafkaTemplate<String, NotificationEvent> kafkaTemplate = app.getBean(
+          KafkaTemplate.class
+        );
+        JdbcTemplate jdbcTemplate = app.getBean(JdbcTemplate.class);
+        KafkaListenerEndpointRegistry registry = app.getBean(
+          KafkaListenerEndpointRegistry.class
+        );
+        for (String id : LISTENERS) {
+          registry.getListenerContainer(id).stop();
+        }
+
+        List<String> rows = new ArrayList<>();
+        for (int round = 0; round <= rounds; round++) {
+          for (String id : LISTENERS) {
+            publish(kafkaTemplate, events);
+            double seconds = drain(
+              registry.getListenerContainer(id),
+              jdbcTemplate,
+              events
+            );
+            if (round > 0) {
+              rows.add(
+                String.format(
+                  "%-22s %5d %10d %10.2f %12.0f",
+                  id,
+                  round,
+                  events,
+                  seconds,
+                  events / seconds
+                )
+              );
+            }
+          }
+        }
+
+        System.out.println();
+        System.out.printf(
+          "%d partitions, %d consumer threads per listener%n",
+          partitions,
+          concurrency
+        );
+        System.out.printf(
+          "%-22s %5s %10s %10s %12s%n",
+          "listener",
+          "round",
+          "events",
+          "seconds",
+          "events/s"
+        );
+        rows.forEach(System.out::println);
+      } finally {
+        app.close();
+      }
+    }
+  }
+
+  private static void publish(
+    KafkaTemplate<String, NotificationEvent> kafkaTemplate,
+    int events
+  ) {
+    List<CompletableFuture<?>> sends = new ArrayList<>(events);
+    for (int i = 0; i < events; i++) {
+      long owner = i % 500 + 1;
+      sends.add(
+        kafkaTemplate.send(
+          TOPIC,
+          String.valueOf(owner),
+          new NotificationEvent(
+            i % 2 == 0
+              ? NotificationType.FAULT_LIKED
+              : NotificationType.FAULT_DISLIKED,
+            (long) (i % 1000) + 1,
+            "Fault " + (i % 1000 + 1),
+            "owner" + owner,
+            owner,
+            "voter" + i,
+            LocalDateTime.now()
+          )
+        )
+      );
+    }
+    kafkaTemplate.flush();
+    CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+  }
+
+  /** Seconds from the first inserted row until all {@code events} are in. */
+  private static double drain(
+    MessageListenerContainer container,
+    JdbcTemplate jdbcTemplate,
+    int events
+  ) throws InterruptedException, TimeoutException {
+    long before = count(jdbcTemplate);
+    long target = before + events;
+    long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+    long firstRow = 0;
+
+    container.start();
+    try {
+      while (true) {
+        long now = System.nanoTime();
+        long count = count(jdbcTemplate);
+        if (firstRow == 0 && count > before) {
+          firstRow = now;
+        }
+        if (count >= target) {
+          return (now - firstRow) / 1e9;
+        }
+        if (now > deadline) {
+          throw new TimeoutException(
+            container.getListenerId() +
+            " persisted " +
+            (count - before) +
+            " of " +
+            events +
+            " events"
+          );
+        }
+        Thread.sleep(10);
+      }
+    } finally {
+      container.stop();
+    }
+  }
+
+  private static long count(JdbcTemplate jdbcTemplate) {
+    return jdbcTemplate.queryForObject(
+      "SELECT COUNT(*) FROM notifications",
+      Long.class
+    );
+  }
+}
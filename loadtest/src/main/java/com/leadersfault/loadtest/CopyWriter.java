@@ -0,0 +1,71 @@
+package com.leadersfault.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Streams CSV rows into {@code COPY ... FROM STDIN}, flushing in 256 KB
+ * chunks so memory stays flat however many rows are written.
+ */
+public class CopyWriter implements AutoCloseable {
+
+  private static final int FLUSH_BYTES = 256 * 1024;
+
+  private final CopyIn copyIn;
+  private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 4096);
+  private long rows;
+  private boolean closed;
+
+  public CopyWriter(Connection connection, String table, String columns)
+    throws SQLException {
+    this.copyIn =
+      connection
+        .unwrap(PGConnection.class)
+        .getCopyAPI()
+        .copyIn(
+          "COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)"
+        );
+  }
+
+  public void row(Object... values) throws SQLException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        buffer.append(',');
+      }
+      Object value = values[i];
+      if (value instanceof String text) {
+        buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+      } else if (value != null) {
+        buffer.append(value);
+      }
+    }
+    buffer.append('\n');
+    rows++;
+    if (buffer.length() >= FLUSH_BYTES) {
+      flush();
+    }
+  }
+
+  public long rows() {
+    return rows;
+  }
+
+  private void flush() throws SQLException {
+    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    copyIn.writeToCopy(bytes, 0, bytes.length);
+    buffer.setLength(0);
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    flush();
+    copyIn.endCopy();
+  }
+}
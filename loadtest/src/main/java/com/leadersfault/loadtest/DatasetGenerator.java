@@ -0,0 +1,577 @@
+package com.leadersfault.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Bulk-loads a synthetic dataset with production-like skew straight into
+ * Postgres through {@code COPY}: users, leaders, faults, fault_leaders,
+ * fault_votes, leader_votes, notifications and notification_actors, with
+ * the denormalized counters consistent with the vote rows.
+ *
+ * <p>Fault popularity follows a Zipf distribution over a shuffled ranking,
+ * and a share of all fault votes goes to a handful of recent "viral"
+ * faults. Each fault's voters are distinct users picked by a coprime stride,
+ * so the (fault_id, user_id) keys never collide. Every draw comes from a
+ * seeded per-fault generator, which lets each table be streamed in its own
+ * pass without holding the vote rows in memory.
+ *
+ * <p>The schema must exist (start the app against the database once). Rows
+ * are appended after the current max ids, and the id sequences are moved
+ * past them at the end. All generated users share the password
+ * {@code password}.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dloadtest.main=com.leadersfault.loadtest.DatasetGenerator \
+ *   -Dexec.args="--jdbc-url=jdbc:postgresql://localhost:5432/faults --db-user=postgres --db-password=postgres --faults=2000000"
+ * </pre>
+ */
+public class DatasetGenerator {
+
+  private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+  private final int users;
+  private final int leaders;
+  private final int faults;
+  private final long faultVotes;
+  private final long leaderVotes;
+  private final long notifications;
+  private final int viralFaults;
+  private final double viralShare;
+  private final double exponent;
+  private final int days;
+  private final long seed;
+  private final String prefix;
+
+  private long userBase;
+  private long leaderBase;
+  private long faultBase;
+  private LocalDateTime now;
+
+  // Planned per-row counters, so parents can be written before their votes
+  private int[] faultOwner;
+  private int[] faultVoteCount;
+  private int[] faultLikeCount;
+  private int[] leaderFaultCount;
+  private int[] leaderVoteCount;
+  private int[] leaderLikeCount;
+
+  DatasetGenerator(Map<String, String> args) {
+    users = LoadTestOptions.intOf(args, "users", 100_000);
+    leaders = LoadTestOptions.intOf(args, "leaders", 2_000);
+    faults = LoadTestOptions.intOf(args, "faults", 1_000_000);
+    faultVotes = Long.parseLong(args.getOrDefault("fault-votes", "6000000"));
+    leaderVotes = Long.parseLong(args.getOrDefault("leader-votes", "500000"));
+    notifications =
+      Long.parseLong(args.getOrDefault("notifications", "2000000"));
+    viralFaults = LoadTestOptions.intOf(args, "viral-faults", 10);
+    viralShare = Double.parseDouble(args.getOrDefault("viral-share", "0.15"));
+    exponent = Double.parseDouble(args.getOrDefault("zipf-exponent", "1.05"));
+    days = LoadTestOptions.intOf(args, "days", 365);
+    seed = Long.parseLong(args.getOrDefault("seed", "42"));
+    prefix = args.getOrDefault("prefix", "gen");
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> values = LoadTestOptions.parseArgs(args);
+    String url = values.get("jdbc-url");
+    if (url == null) {
+      throw new IllegalArgumentException("--jdbc-url is required");
+    }
+    try (
+      Connection connection = DriverManager.getConnection(
+        url,
+        values.getOrDefault("db-user", "postgres"),
+        values.getOrDefault("db-password", "")
+      )
+    ) {
+      new DatasetGenerator(values).load(connection);
+    }
+  }
+
+  public void load(Connection connection) throws SQLException {
+    long started = System.nanoTime();
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("SET synchronous_commit = off");
+    }
+    userBase = maxId(connection, "users");
+    leaderBase = maxId(connection, "leaders");
+    faultBase = maxId(connection, "faults");
+    now = LocalDateTime.now().withNano(0);
+
+    plan();
+    copyUsers(connection);
+    copyLeaders(connection);
+    copyFaults(connection);
+    copyFaultLeaders(connection);
+    copyFaultVotes(connection);
+    copyLeaderVotes(connection);
+    copyNotifications(connection);
+    finish(connection);
+
+    System.out.printf(
+      "Dataset loaded in %ds%n",
+      (System.nanoTime() - started) / 1_000_000_000L
+    );
+  }
+
+  /** Draws every counter first; the copy passes replay the same draws. */
+  private void plan() {
+    SplittableRandom random = new SplittableRandom(seed);
+    ZipfSampler userPopularity = new ZipfSampler(users, exponent);
+    ZipfSampler faultPopularity = new ZipfSampler(faults, exponent);
+    ZipfSampler leaderPopularity = new ZipfSampler(leaders, exponent);
+
+    // Popularity rank -> fault, so popular faults are spread over time
+    int[] faultByRank = new int[faults];
+    for (int i = 0; i < faults; i++) {
+      faultByRank[i] = i;
+    }
+    for (int i = faults - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int swap = faultByRank[i];
+      faultByRank[i] = faultByRank[j];
+      faultByRank[j] = swap;
+    }
+
+    faultOwner = new int[faults];
+    faultVoteCount = new int[faults];
+    faultLikeCount = new int[faults];
+    leaderFaultCount = new int[leaders];
+    for (int fault = 0; fault < faults; fault++) {
+      // A few prolific posters own most faults
+      faultOwner[fault] = userPopularity.sample(random.nextDouble());
+      for (int leader : taggedLeaders(fault, leaderPopularity)) {
+        leaderFaultCount[leader]++;
+      }
+    }
+
+    int viral = Math.min(viralFaults, faults);
+    for (long vote = 0; vote < faultVotes; vote++) {
+      int fault = viral > 0 && random.nextDouble() < viralShare
+        ? faults - 1 - random.nextInt(viral)
+        : faultByRank[faultPopularity.sample(random.nextDouble())];
+      if (faultVoteCount[fault] < users) {
+        faultVoteCount[fault]++;
+      }
+    }
+    for (int fault = 0; fault < faults; fault++) {
+      faultLikeCount[fault] = likesOf(faultVoteCount[fault], random);
+    }
+
+    leaderVoteCount = new int[leaders];
+    leaderLikeCount = new int[leaders];
+    for (long vote = 0; vote < leaderVotes; vote++) {
+      int leader = leaderPopularity.sample(random.nextDouble());
+      if (leaderVoteCount[leader] < users) {
+        leaderVoteCount[leader]++;
+      }
+    }
+    for (int leader = 0; leader < leaders; leader++) {
+      leaderLikeCount[leader] = likesOf(leaderVoteCount[leader], random);
+    }
+  }
+
+  /** Between half and nearly all votes are likes, varying per item. */
+  private static int likesOf(int votes, SplittableRandom random) {
+    double likeRatio = 0.5 + 0.45 * random.nextDouble();
+    return (int) Math.round(votes * likeRatio);
+  }
+
+  /** One to three distinct leaders per fault, replayable per fault. */
+  private int[] taggedLeaders(int fault, ZipfSampler leaderPopularity) {
+    SplittableRandom random = forFault(fault, 1);
+    int count = Math.min(leaders, 1 + random.nextInt(3));
+    int[] picked = new int[count];
+    for (int i = 0; i < count; i++) {
+      int leader;
+      boolean duplicate;
+      do {
+        leader = leaderPopularity.sample(random.nextDouble());
+        duplicate = false;
+        for (int j = 0; j < i; j++) {
+          duplicate |= picked[j] == leader;
+        }
+      } while (duplicate);
+      picked[i] = leader;
+    }
+    return picked;
+  }
+
+  private SplittableRandom forFault(int fault, int stream) {
+    return new SplittableRandom(seed * 1_000_003L + fault * 31L + stream);
+  }
+
+  private void copyUsers(Connection connection) throws SQLException {
+    String password = new BCryptPasswordEncoder().encode("password");
+    try (
+      CopyWriter copy = new CopyWriter(
+        connection,
+        "users",
+        "id, username, email, password"
+      )
+    ) {
+      for (int user = 0; user < users; user++) {
+        String username = username(user);
+        copy.row(
+          userBase + 1 + user,
+          username,
+          username + "@example.invalid",
+          password
+        );
+      }
+      commit(connection, "users", copy);
+    }
+  }
+
+  private void copyLeaders(Connection connection) throws SQLException {
+    try (
+      CopyWriter copy = new CopyWriter(
+        connection,
+        "leaders",
+        "id, name, description, image_url, likes, dislikes, number_of_faults"
+      )
+    ) {
+      for (int leader = 0; leader < leaders; leader++) {
+        copy.row(
+          leaderBase + 1 + leader,
+          "Leader " + (leaderBase + 1 + leader),
+          "Generated leader profile",
+          "https://res.cloudinary.invalid/faulthub/leader.jpg",
+          leaderLikeCount[leader],
+          leaderVoteCount[leader] - leaderLikeCount[leader],
+          leaderFaultCount[leader]
+        );
+      }
+      commit(connection, "leaders", copy);
+    }
+  }
+
+  private void copyFaults(Connection connection) throws SQLException {
+    try (
+      CopyWriter copy = new CopyWriter(
+        connection,
+        "faults",
+        "id, title, description, image_url, uploaded_by, like_count, dislike_count, created_at"
+      )
+    ) {
+      for (int fault = 0; fault < faults; fault++) {
+        copy.row(
+          faultBase + 1 + fault,
+          title(fault),
+          "Generated fault description",
+          "https://res.cloudinary.invalid/faulthub/fault.jpg",
+          username(faultOwner[fault]),
+          faultLikeCount[fault],
+          faultVoteCount[fault] - faultLikeCount[fault],
+          TIMESTAMP.format(createdAt(fault))
+        );
+      }
+      commit(connection, "faults", copy);
+    }
+  }
+
+  private void copyFaultLeaders(Connection connection) throws SQLException {
+    ZipfSampler leaderPopularity = new ZipfSampler(leaders, exponent);
+    try (
+      CopyWriter copy = new CopyWriter(
+        connection,
+        "fault_leaders",
+        "fault_id, leader_id"
+      )
+    ) {
+      for (int fault = 0; fault < faults; fault++) {
+        for (int leader : taggedLeaders(fault, leaderPopularity)) {
+          copy.row(faultBase + 1 + fault, leaderBase + 1 + leader);
+        }
+      }
+      commit(connection, "fault_leaders", copy);
+    }
+  }
+
+  private void copyFaultVotes(Connection connection) throws SQLException {
+    try (
+      CopyWriter copy = new CopyWriter(
+        connection,
+        "fault_votes",
+        "fault_id, user_id, value"
+      )
+    ) {
+      for (int fault = 0; fault < faults; fault++) {
+        int[] voters = voters(fault, faultVoteCount[fault]);
+        for (int i = 0; i < voters.length; i++) {
+          copy.row(
+            faultBase + 1 + fault,
+            userBase + 1 + voters[i],
+            i < faultLikeCount[fault] ? 1 : -1
+          );
+        }
+      }
+      commit(connection, "fault_votes", copy);
+    }
+  }
+
+  private void copyLeaderVotes(Connection connection) throws SQLException {
+    try (
+      CopyWriter copy = new CopyWriter(
+        connection,
+        "leader_votes",
+        "leader_id, user_id, value"
+      )
+    ) {
+      for (int leader = 0; leader < leaders; leader++) {
+        // Negative stream ids keep leader draws apart from fault draws
+        int[] voters = voters(-1 - leader, leaderVoteCount[leader]);
+        for (int i = 0; i < voters.length; i++) {
+          copy.row(
+            leaderBase + 1 + leader,
+            userBase + 1 + voters[i],
+            i < leaderLikeCount[leader] ? 1 : -1
+          );
+        }
+      }
+      commit(connection, "leader_votes", copy);
+    }
+  }
+
+  /**
+   * Samples notifications from the fault votes, as the consumer would have
+   * created them, skipping self-votes. Older ones are mostly read. Each one
+   * counts a single voter, recorded in notification_actors by a second pass
+   * that replays the same draws.
+   */
+  private void copyNotifications(Connection connection) throws SQLException {
+    long totalVotes = 0;
+    for (int count : faultVoteCount) {
+      totalVotes += count;
+    }
+    double keep = totalVotes == 0
+      ? 0
+      : Math.min(1.0, (double) notifications / totalVotes);
+    long firstId = reserveNotificationIds(connection, totalVotes);
+
+    try (
+      CopyWriter copy = new CopyWriter(
+        connection,
+        "notifications",
+        "id, user_id, message, type, fault_id, fault_title, action_by, actor_count, is_read, created_at"
+      )
+    ) {
+      forEachNotification(
+        firstId,
+        keep,
+        (id, fault, voter, like, read, createdAt) -> {
+          String actor = username(voter);
+          copy.row(
+            id,
+            userBase + 1 + faultOwner[fault],
+            actor +
+            (
+              like
+                ? " agreed with the fault you posted"
+                : " disagreed with the fault you posted"
+            ),
+            like ? "FAULT_LIKED" : "FAULT_DISLIKED",
+            faultBase + 1 + fault,
+            title(fault),
+            actor,
+            1,
+            read ? "true" : "false",
+            TIMESTAMP.format(createdAt)
+          );
+        }
+      );
+      commit(connection, "notifications", copy);
+    }
+
+    try (
+      CopyWriter copy = new CopyWriter(
+        connection,
+        "notification_actors",
+        "notification_id, username"
+      )
+    ) {
+      forEachNotification(
+        firstId,
+        keep,
+        (id, fault, voter, like, read, createdAt) ->
+          copy.row(id, username(voter))
+      );
+      commit(connection, "notification_actors", copy);
+    }
+  }
+
+  @FunctionalInterface
+  private interface NotificationRow {
+    void write(
+      long id,
+      int fault,
+      int voter,
+      boolean like,
+      boolean read,
+      LocalDateTime createdAt
+    ) throws SQLException;
+  }
+
+  /** Draws the sampled notifications in the same order on every call. */
+  private void forEachNotification(
+    long firstId,
+    double keep,
+    NotificationRow row
+  ) throws SQLException {
+    long id = firstId;
+    for (int fault = 0; fault < faults; fault++) {
+      SplittableRandom random = forFault(fault, 3);
+      int[] voters = voters(fault, faultVoteCount[fault]);
+      LocalDateTime faultCreated = createdAt(fault);
+      long ageMinutes = Math.max(
+        1,
+        Duration.between(faultCreated, now).toMinutes()
+      );
+      for (int i = 0; i < voters.length; i++) {
+        if (voters[i] == faultOwner[fault] || random.nextDouble() >= keep) {
+          continue;
+        }
+        long delay = (long) (ageMinutes * random.nextDouble());
+        boolean read = random.nextDouble() < 0.7;
+        row.write(
+          ++id,
+          fault,
+          voters[i],
+          i < faultLikeCount[fault],
+          read,
+          faultCreated.plusMinutes(delay)
+        );
+      }
+    }
+  }
+
+  /**
+   * Notification ids come from the application's pooled
+   * {@code notifications_seq}, so take a block of {@code count} ids past both
+   * the sequence and the table and move the sequence beyond it. Returns the
+   * id before the block.
+   */
+  private static long reserveNotificationIds(
+    Connection connection,
+    long count
+  ) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      long base;
+      try (
+        ResultSet result = statement.executeQuery(
+          "SELECT GREATEST(" +
+          "(SELECT COALESCE(MAX(id), 0) FROM notifications), " +
+          "(SELECT last_value FROM notifications_seq))"
+        )
+      ) {
+        result.next();
+        base = result.getLong(1);
+      }
+      // setval is not transactional, so the block stays reserved on rollback
+      statement.execute(
+        "SELECT setval('notifications_seq', " + (base + count + 50) + ")"
+      );
+      return base;
+    }
+  }
+
+  /**
+   * {@code count} distinct users for one item: a random start and a stride
+   * coprime with the user count visit every user at most once.
+   */
+  private int[] voters(int item, int count) {
+    SplittableRandom random = forFault(item, 2);
+    int start = random.nextInt(users);
+    int stride = 1;
+    if (users > 1) {
+      do {
+        stride = 1 + random.nextInt(users - 1);
+      } while (gcd(stride, users) != 1);
+    }
+    int[] voters = new int[count];
+    for (int i = 0; i < count; i++) {
+      voters[i] = (int) ((start + (long) i * stride) % users);
+    }
+    return voters;
+  }
+
+  private static int gcd(int a, int b) {
+    while (b != 0) {
+      int t = a % b;
+      a = b;
+      b = t;
+    }
+    return a;
+  }
+
+  /** Spread evenly over the window, oldest first, like the id order. */
+  private LocalDateTime createdAt(int fault) {
+    long windowSeconds = days * 86_400L;
+    long offset = windowSeconds - (windowSeconds * (fault + 1L)) / faults;
+    return now.minusSeconds(offset);
+  }
+
+  private String username(int user) {
+    return prefix + (userBase + 1 + user);
+  }
+
+  private String title(int fault) {
+    return "Fault " + (faultBase + 1 + fault);
+  }
+
+  private static long maxId(Connection connection, String table)
+    throws SQLException {
+    try (
+      Statement statement = connection.createStatement();
+      ResultSet result = statement.executeQuery(
+        "SELECT COALESCE(MAX(id), 0) FROM " + table
+      )
+    ) {
+      result.next();
+      return result.getLong(1);
+    }
+  }
+
+  private static void commit(
+    Connection connection,
+    String table,
+    CopyWriter copy
+  ) throws SQLException {
+    copy.close();
+    connection.commit();
+    System.out.printf("%-19s %,12d rows%n", table, copy.rows());
+  }
+
+  /** Moves the id sequences past the copied ids and refreshes statistics. */
+  private void finish(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      for (String table : new String[] {
+        "users",
+        "leaders",
+        "faults",
+      }) {
+        statement.execute(
+          "SELECT setval(pg_get_serial_sequence('" +
+          table +
+          "', 'id'), (SELECT COALESCE(MAX(id), 1) FROM " +
+          table +
+          "))"
+        );
+      }
+      connection.commit();
+      connection.setAutoCommit(true);
+      statement.execute("ANALYZE");
+    }
+  }
+}
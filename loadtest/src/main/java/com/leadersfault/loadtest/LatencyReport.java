@@ -0,0 +1,81 @@
+package com.leadersfault.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Per-endpoint latency histograms (microsecond resolution, 3 significant
+ * digits) and error counts. {@link #reset()} drops the warmup samples.
+ */
+public class LatencyReport {
+
+  private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(
+    1
+  );
+
+  private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+  private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+  public void record(String endpoint, long nanos, boolean success) {
+    histograms
+      .computeIfAbsent(
+        endpoint,
+        key -> new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3)
+      )
+      .recordValue(
+        Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_TRACKABLE_MICROS)
+      );
+    if (!success) {
+      errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+    }
+  }
+
+  public void reset() {
+    histograms.values().forEach(Histogram::reset);
+    errors.values().forEach(LongAdder::reset);
+  }
+
+  public void print(PrintStream out, long elapsedNanos) {
+    double seconds = elapsedNanos / 1e9;
+    out.printf(
+      "%-28s %9s %9s %8s %9s %9s %9s %9s%n",
+      "endpoint",
+      "requests",
+      "errors",
+      "req/s",
+      "p50 ms",
+      "p95 ms",
+      "p99 ms",
+      "max ms"
+    );
+    long total = 0;
+    for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+      Histogram histogram = entry.getValue();
+      long count = histogram.getTotalCount();
+      total += count;
+      LongAdder endpointErrors = errors.get(entry.getKey());
+      out.printf(
+        "%-28s %9d %9d %8.1f %9.2f %9.2f %9.2f %9.2f%n",
+        entry.getKey(),
+        count,
+        endpointErrors != null ? endpointErrors.sum() : 0,
+        count / seconds,
+        millis(histogram.getValueAtPercentile(50)),
+        millis(histogram.getValueAtPercentile(95)),
+        millis(histogram.getValueAtPercentile(99)),
+        millis(histogram.getMaxValue())
+      );
+    }
+    out.printf("%-28s %9d %9s %8.1f%n", "total", total, "", total / seconds);
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+}
@@ -0,0 +1,108 @@
+package com.leadersfault.loadtest;
+
+import com.leadersfault.LeadersFaultApplication;
+import com.leadersfault.service.CloudinaryService;
+import java.sql.Connection;
+import java.util.Map;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+/**
+ * Starts the stand-ins and the application in this JVM, seeds data through
+ * the API, runs the traffic mix and prints per-endpoint latency and
+ * throughput.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.args="--users=64 --duration-seconds=120"
+ * </pre>
+ */
+public class LoadTestMain {
+
+  public static void main(String[] args) throws Exception {
+    LoadTestOptions options = LoadTestOptions.parse(args);
+
+    try (LocalStandIns standIns = LocalStandIns.start()) {
+      ConfigurableApplicationContext app = new SpringApplicationBuilder(
+        LeadersFaultApplication.class,
+        StubUploads.class
+      )
+        .properties(standIns.applicationProperties())
+        .properties("loadtest.upload-latency-ms=" + options.uploadLatencyMs)
+        .run();
+
+      try {
+        int port =
+          ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+        Workload workload = new Workload(
+          new ApiClient("http://localhost:" + port),
+          options
+        );
+
+        if (options.datasetFaults > 0) {
+          System.out.printf(
+            "Generating a %d-fault dataset...%n",
+            options.datasetFaults
+          );
+          try (Connection connection = standIns.openDatabaseConnection()) {
+            new DatasetGenerator(datasetArgs(options.datasetFaults))
+              .load(connection);
+          }
+        }
+
+        System.out.printf(
+          "Seeding %d accounts, %d leaders, %d faults...%n",
+          options.accounts,
+          options.leaders,
+          options.faults
+        );
+        workload.seed();
+
+        System.out.printf(
+          "Running %d virtual users: %ds warmup, %ds measured%n",
+          options.virtualUsers,
+          options.warmup.toSeconds(),
+          options.duration.toSeconds()
+        );
+        LatencyReport report = workload.run();
+        report.print(System.out, options.duration.toNanos());
+      } finally {
+        app.close();
+      }
+    }
+  }
+
+  /** Dataset proportions roughly matching production per fault. */
+  private static Map<String, String> datasetArgs(int faults) {
+    return Map.of(
+      "faults",
+      String.valueOf(faults),
+      "users",
+      String.valueOf(Math.max(1_000, faults / 10)),
+      "leaders",
+      String.valueOf(Math.max(100, faults / 500)),
+      "fault-votes",
+      String.valueOf(faults * 6L),
+      "leader-votes",
+      String.valueOf(faults / 2),
+      "notifications",
+      String.valueOf(faults * 2L)
+    );
+  }
+
+  @Configuration
+  static class StubUploads {
+
+    @Bean
+    @Primary
+    CloudinaryService stubCloudinaryService(Environment environment) {
+      return new StubCloudinaryService(
+        environment.getProperty("loadtest.upload-latency-ms", Long.class, 0L)
+      );
+    }
+  }
+}
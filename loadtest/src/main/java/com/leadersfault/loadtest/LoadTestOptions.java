@@ -0,0 +1,70 @@
+package com.leadersfault.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options in {@code --name=value} form. Every option has a
+ * default, so a bare run gives a short smoke test.
+ */
+public class LoadTestOptions {
+
+  final int virtualUsers;
+  final Duration warmup;
+  final Duration duration;
+  final int accounts;
+  final int leaders;
+  final int faults;
+  final long thinkTimeMs;
+  final long uploadLatencyMs;
+  final int datasetFaults;
+
+  // Traffic mix weights, relative to each other
+  final int browseWeight;
+  final int leaderWeight;
+  final int voteWeight;
+  final int unreadWeight;
+  final int loginWeight;
+
+  private LoadTestOptions(Map<String, String> values) {
+    virtualUsers = intOf(values, "users", 32);
+    warmup = Duration.ofSeconds(intOf(values, "warmup-seconds", 10));
+    duration = Duration.ofSeconds(intOf(values, "duration-seconds", 60));
+    accounts = intOf(values, "accounts", 100);
+    leaders = intOf(values, "leaders", 50);
+    faults = intOf(values, "faults", 500);
+    thinkTimeMs = intOf(values, "think-ms", 0);
+    uploadLatencyMs = intOf(values, "upload-latency-ms", 150);
+    datasetFaults = intOf(values, "dataset-faults", 0);
+    browseWeight = intOf(values, "mix-browse", 50);
+    leaderWeight = intOf(values, "mix-leader", 20);
+    voteWeight = intOf(values, "mix-vote", 15);
+    unreadWeight = intOf(values, "mix-unread", 12);
+    loginWeight = intOf(values, "mix-login", 3);
+  }
+
+  public static LoadTestOptions parse(String[] args) {
+    return new LoadTestOptions(parseArgs(args));
+  }
+
+  /** Splits {@code --name=value} arguments into a map. */
+  static Map<String, String> parseArgs(String[] args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException(
+          "Expected --name=value, got: " + arg
+        );
+      }
+      int split = arg.indexOf('=');
+      values.put(arg.substring(2, split), arg.substring(split + 1));
+    }
+    return values;
+  }
+
+  static int intOf(Map<String, String> values, String key, int def) {
+    String value = values.get(key);
+    return value != null ? Integer.parseInt(value) : def;
+  }
+}
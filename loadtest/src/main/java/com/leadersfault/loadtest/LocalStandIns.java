@@ -0,0 +1,99 @@
+package com.leadersfault.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+/**
+ * Local replacements for the production dependencies: an embedded Postgres
+ * server, a single-node embedded Kafka broker and a throwaway RS256 key
+ * pair. {@link #applicationProperties()} points the app at them.
+ */
+public class LocalStandIns implements AutoCloseable {
+
+  static final String NOTIFICATION_TOPIC = "fault-notifications";
+
+  private final EmbeddedPostgres postgres;
+  private final EmbeddedKafkaBroker kafka;
+  private final KeyPair jwtKeys;
+
+  private LocalStandIns(
+    EmbeddedPostgres postgres,
+    EmbeddedKafkaBroker kafka,
+    KeyPair jwtKeys
+  ) {
+    this.postgres = postgres;
+    this.kafka = kafka;
+    this.jwtKeys = jwtKeys;
+  }
+
+  public static LocalStandIns start()
+    throws IOException, NoSuchAlgorithmException {
+    EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+
+    EmbeddedKafkaBroker kafka = new EmbeddedKafkaBroker(
+      1,
+      false,
+      1,
+      NOTIFICATION_TOPIC
+    );
+    kafka.afterPropertiesSet();
+
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    return new LocalStandIns(postgres, kafka, generator.generateKeyPair());
+  }
+
+  public Map<String, Object> applicationProperties() throws IOException {
+    Base64.Encoder encoder = Base64.getEncoder();
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("DB_URL", postgres.getJdbcUrl("postgres", "postgres"));
+    properties.put("DB_USERNAME", "postgres");
+    properties.put("DB_PASSWORD", "postgres");
+    properties.put("spring.kafka.bootstrap-servers", kafka.getBrokersAsString());
+    properties.put(
+      "JWT_PRIVATE_KEY_BASE64",
+      encoder.encodeToString(jwtKeys.getPrivate().getEncoded())
+    );
+    properties.put(
+      "JWT_PUBLIC_KEY_BASE64",
+      encoder.encodeToString(jwtKeys.getPublic().getEncoded())
+    );
+    properties.put("SERVER_URL", "http://localhost");
+    properties.put("CLOUDINARY_CLOUD_NAME", "stub");
+    properties.put("CLOUDINARY_API_KEY", "stub");
+    properties.put("CLOUDINARY_API_SECRET", "stub");
+    properties.put("telemetry.sink", "none");
+    properties.put("server.port", 0);
+    properties.put("management.server.port", 0);
+    properties.put("socketio.host", "127.0.0.1");
+    properties.put("socketio.port", freePort());
+    properties.put("spring.datasource.hikari.maximum-pool-size", 20);
+    return properties;
+  }
+
+  public Connection openDatabaseConnection() throws SQLException {
+    return postgres.getPostgresDatabase().getConnection();
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    kafka.destroy();
+    postgres.close();
+  }
+}
@@ -0,0 +1,35 @@
+package com.leadersfault.loadtest;
+
+import com.leadersfault.service.CloudinaryService;
+import java.io.IOException;
+import java.util.UUID;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Stands in for Cloudinary: reads the upload like the real client does,
+ * waits for a configurable round trip and returns a unique URL.
+ */
+public class StubCloudinaryService extends CloudinaryService {
+
+  private final long latencyMs;
+
+  public StubCloudinaryService(long latencyMs) {
+    this.latencyMs = latencyMs;
+  }
+
+  @Override
+  public String uploadFile(MultipartFile file) throws IOException {
+    file.getBytes();
+    if (latencyMs > 0) {
+      try {
+        Thread.sleep(latencyMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted during stub upload", e);
+      }
+    }
+    return (
+      "https://res.cloudinary.invalid/faulthub/" + UUID.randomUUID() + ".jpg"
+    );
+  }
+}
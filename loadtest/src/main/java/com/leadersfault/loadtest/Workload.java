@@ -0,0 +1,243 @@
+package com.leadersfault.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds accounts, leaders and faults through the public API, then runs a
+ * closed-loop traffic mix with one thread per virtual user. Each virtual
+ * user is logged in as one account; about half of the browsing is done
+ * anonymously, like the production feed.
+ */
+public class Workload {
+
+  private static final byte[] IMAGE = new byte[48 * 1024];
+
+  private final ApiClient api;
+  private final LoadTestOptions options;
+  private final LatencyReport report = new LatencyReport();
+
+  private final List<String> usernames = new ArrayList<>();
+  private final List<String> tokens = new ArrayList<>();
+  private final List<Long> leaderIds = new ArrayList<>();
+  private final List<Long> faultIds = new ArrayList<>();
+
+  private volatile boolean running;
+
+  public Workload(ApiClient api, LoadTestOptions options) {
+    this.api = api;
+    this.options = options;
+    new Random(42).nextBytes(IMAGE);
+  }
+
+  public void seed() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> logins = new ArrayList<>();
+      for (int i = 0; i < options.accounts; i++) {
+        String username = "loadtest" + i;
+        usernames.add(username);
+        logins.add(pool.submit(() -> registerAndLogin(username)));
+      }
+      for (Future<String> login : logins) {
+        tokens.add(login.get());
+      }
+
+      List<Future<Long>> leaders = new ArrayList<>();
+      for (int i = 0; i < options.leaders; i++) {
+        int n = i;
+        leaders.add(pool.submit(() -> createLeader(n)));
+      }
+      for (Future<Long> leader : leaders) {
+        leaderIds.add(leader.get());
+      }
+
+      List<Future<Long>> faults = new ArrayList<>();
+      for (int i = 0; i < options.faults; i++) {
+        int n = i;
+        faults.add(pool.submit(() -> createFault(n)));
+      }
+      for (Future<Long> fault : faults) {
+        faultIds.add(fault.get());
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /** Runs warmup then measurement and returns the measured report. */
+  public LatencyReport run() throws InterruptedException {
+    running = true;
+    ExecutorService users = Executors.newFixedThreadPool(options.virtualUsers);
+    for (int i = 0; i < options.virtualUsers; i++) {
+      int user = i % tokens.size();
+      users.submit(() -> loop(user));
+    }
+
+    Thread.sleep(options.warmup.toMillis());
+    report.reset();
+    Thread.sleep(options.duration.toMillis());
+
+    running = false;
+    users.shutdown();
+    users.awaitTermination(1, TimeUnit.MINUTES);
+    return report;
+  }
+
+  private void loop(int user) {
+    int totalWeight =
+      options.browseWeight +
+      options.leaderWeight +
+      options.voteWeight +
+      options.unreadWeight +
+      options.loginWeight;
+    while (running) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      int pick = random.nextInt(totalWeight);
+      try {
+        if ((pick -= options.browseWeight) < 0) {
+          browse(user, random);
+        } else if ((pick -= options.leaderWeight) < 0) {
+          openLeader(user, random);
+        } else if ((pick -= options.voteWeight) < 0) {
+          vote(user, random);
+        } else if ((pick -= options.unreadWeight) < 0) {
+          timed("GET unread-count", () ->
+            api.get("/api/notifications/unread-count", tokens.get(user))
+          );
+        } else {
+          timed("POST login", () -> login(usernames.get(user)));
+        }
+        if (options.thinkTimeMs > 0) {
+          Thread.sleep(options.thinkTimeMs);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void browse(int user, ThreadLocalRandom random)
+    throws InterruptedException {
+    String token = random.nextBoolean() ? tokens.get(user) : null;
+    // Most sessions stay on the first pages
+    int page = Math.min(random.nextInt(8), random.nextInt(8));
+    timed("GET faults", () ->
+      api.get("/api/faults?page=" + page + "&limit=10", token)
+    );
+  }
+
+  private void openLeader(int user, ThreadLocalRandom random)
+    throws InterruptedException {
+    long leaderId = leaderIds.get(random.nextInt(leaderIds.size()));
+    String token = tokens.get(user);
+    timed("GET leader", () -> api.get("/api/leaders/" + leaderId, token));
+    timed("GET leader faults", () ->
+      api.get("/api/leaders/" + leaderId + "/faults?limit=10", token)
+    );
+  }
+
+  private void vote(int user, ThreadLocalRandom random)
+    throws InterruptedException {
+    // Votes cluster on recent faults
+    int index = (int) (Math.abs(random.nextGaussian()) * faultIds.size() / 6);
+    long faultId = faultIds.get(
+      faultIds.size() - 1 - Math.min(index, faultIds.size() - 1)
+    );
+    String action = random.nextInt(4) == 0 ? "dislike" : "like";
+    timed("POST fault vote", () ->
+      api.post("/api/faults/" + faultId + "/" + action, tokens.get(user))
+    );
+  }
+
+  private interface Call {
+    HttpResponse<String> send() throws Exception;
+  }
+
+  private void timed(String endpoint, Call call) throws InterruptedException {
+    long start = System.nanoTime();
+    boolean success;
+    try {
+      success = call.send().statusCode() < 400;
+    } catch (InterruptedException e) {
+      throw e;
+    } catch (Exception e) {
+      success = false;
+    }
+    report.record(endpoint, System.nanoTime() - start, success);
+  }
+
+  private String registerAndLogin(String username) throws Exception {
+    api.postJson(
+      "/api/auth/register",
+      Map.of(
+        "username",
+        username,
+        "email",
+        username + "@loadtest.invalid",
+        "password",
+        "password"
+      )
+    );
+    return ApiClient.json(login(username)).get("jwt").asText();
+  }
+
+  private HttpResponse<String> login(String username) throws Exception {
+    return api.postJson(
+      "/api/auth/login",
+      Map.of("username", username, "password", "password")
+    );
+  }
+
+  private long createLeader(int n) throws Exception {
+    HttpResponse<String> response = api.postMultipart(
+      "/api/leaders",
+      tokens.get(n % tokens.size()),
+      Map.of("name", "Leader " + n, "description", "Seeded by the load test"),
+      IMAGE
+    );
+    return idOf(response);
+  }
+
+  private long createFault(int n) throws Exception {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    List<Long> tagged = new ArrayList<>();
+    for (int i = 0, count = 1 + random.nextInt(3); i < count; i++) {
+      tagged.add(leaderIds.get(random.nextInt(leaderIds.size())));
+    }
+    HttpResponse<String> response = api.postMultipart(
+      "/api/faults",
+      tokens.get(n % tokens.size()),
+      Map.of(
+        "title",
+        "Fault " + n,
+        "description",
+        "Seeded by the load test",
+        "leaderIds",
+        tagged.toString()
+      ),
+      IMAGE
+    );
+    return idOf(response);
+  }
+
+  private static long idOf(HttpResponse<String> response) throws Exception {
+    if (response.statusCode() >= 400) {
+      throw new IllegalStateException(
+        "Seeding failed with " + response.statusCode() + ": " + response.body()
+      );
+    }
+    JsonNode id = ApiClient.json(response).get("id");
+    return id.asLong();
+  }
+}
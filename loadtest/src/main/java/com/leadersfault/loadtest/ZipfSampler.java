@@ -0,0 +1,35 @@
+package com.leadersfault.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Samples ranks 0..n-1 with probability proportional to 1/(rank+1)^s by
+ * inverting a precomputed CDF. Deterministic for a given uniform input, so
+ * callers can replay a draw from a seeded generator.
+ */
+public class ZipfSampler {
+
+  private final double[] cdf;
+
+  public ZipfSampler(int n, double exponent) {
+    if (n <= 0) {
+      throw new IllegalArgumentException("n must be positive");
+    }
+    cdf = new double[n];
+    double sum = 0;
+    for (int rank = 0; rank < n; rank++) {
+      sum += 1.0 / Math.pow(rank + 1, exponent);
+      cdf[rank] = sum;
+    }
+    for (int rank = 0; rank < n; rank++) {
+      cdf[rank] /= sum;
+    }
+  }
+
+  /** Maps a uniform value in [0, 1) to a rank. */
+  public int sample(double uniform) {
+    int index = Arrays.binarySearch(cdf, uniform);
+    int rank = index >= 0 ? index : -index - 1;
+    return Math.min(rank, cdf.length - 1);
+  }
+}
@@ -0,0 +1,80 @@
+package com.leadersfault.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.applicationinsights.TelemetryClient;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Forwards batches to Application Insights. Metrics are sent pre-aggregated
+ * (sum, count, min, max and standard deviation), one item per series and
+ * flush interval instead of one per sample. The histogram travels in the
+ * {@code histogram} custom dimension as a JSON object of bucket counts keyed
+ * by inclusive upper bound, e.g. {@code {"0.5":3,"1.0":7,"+Inf":1}}, so
+ * percentiles can be estimated in a query.
+ */
+public class ApplicationInsightsTelemetrySink implements TelemetrySink {
+
+  static final String HISTOGRAM_PROPERTY = "histogram";
+
+  private final TelemetryClient telemetryClient;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  public ApplicationInsightsTelemetrySink(TelemetryClient telemetryClient) {
+    this.telemetryClient = telemetryClient;
+  }
+
+  @Override
+  public void send(
+    List<TelemetryItem> items,
+    List<MetricAggregate.Snapshot> metrics
+  ) throws JsonProcessingException {
+    for (TelemetryItem item : items) {
+      switch (item.getKind()) {
+        case EVENT -> telemetryClient.trackEvent(
+          item.getName(),
+          item.getProperties(),
+          null
+        );
+        case TRACE -> telemetryClient.trackTrace(
+          item.getName(),
+          item.getSeverity(),
+          item.getProperties()
+        );
+        case EXCEPTION -> telemetryClient.trackException(item.getException());
+      }
+    }
+    for (MetricAggregate.Snapshot metric : metrics) {
+      telemetryClient.trackMetric(
+        metric.getName(),
+        metric.getSum(),
+        (int) Math.min(Integer.MAX_VALUE, metric.getCount()),
+        metric.getMin(),
+        metric.getMax(),
+        metric.getStandardDeviation(),
+        withHistogram(metric)
+      );
+    }
+    telemetryClient.flush();
+  }
+
+  private Map<String, String> withHistogram(MetricAggregate.Snapshot metric)
+    throws JsonProcessingException {
+    Map<String, Long> histogram = new LinkedHashMap<>();
+    metric
+      .getBuckets()
+      .forEach((bound, count) ->
+        histogram.put(bound.isInfinite() ? "+Inf" : bound.toString(), count)
+      );
+    Map<String, String> properties = new LinkedHashMap<>(
+      metric.getProperties()
+    );
+    properties.put(
+      HISTOGRAM_PROPERTY,
+      objectMapper.writeValueAsString(histogram)
+    );
+    return properties;
+  }
+}
@@ -0,0 +1,60 @@
+package com.leadersfault.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.leadersfault.security.VerifiedTokenCache;
+import com.leadersfault.service.FeedCache;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes and hit rates of the in-process caches at
+ * {@code /actuator/cachestats}, served like the rest of Actuator on the
+ * loopback-only management port.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+  private final VerifiedTokenCache verifiedTokenCache;
+  private final FeedCache feedCache;
+
+  public CacheStatsEndpoint(
+    VerifiedTokenCache verifiedTokenCache,
+    FeedCache feedCache
+  ) {
+    this.verifiedTokenCache = verifiedTokenCache;
+    this.feedCache = feedCache;
+  }
+
+  @ReadOperation
+  public Map<String, Object> cacheStats() {
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put(
+      "verifiedTokens",
+      toMap(verifiedTokenCache.stats(), verifiedTokenCache.size())
+    );
+
+    Map<String, Long> feedSizes = feedCache.sizes();
+    Map<String, Object> feed = new LinkedHashMap<>();
+    feedCache
+      .stats()
+      .forEach((name, stats) ->
+        feed.put(name, toMap(stats, feedSizes.get(name)))
+      );
+    response.put("feed", feed);
+    return response;
+  }
+
+  private Map<String, Object> toMap(CacheStats stats, long size) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("size", size);
+    map.put("hits", stats.hitCount());
+    map.put("misses", stats.missCount());
+    map.put("hitRate", stats.hitRate());
+    map.put("evictions", stats.evictionCount());
+    return map;
+  }
+}
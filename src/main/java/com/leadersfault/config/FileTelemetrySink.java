@@ -0,0 +1,85 @@
+package com.leadersfault.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends each batch to a local file as JSON lines, one object per item and
+ * per metric series, for development without Azure.
+ */
+public class FileTelemetrySink implements TelemetrySink {
+
+  private final Path path;
+  private final ObjectMapper objectMapper = new ObjectMapper()
+    .registerModule(new JavaTimeModule())
+    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  public FileTelemetrySink(Path path) {
+    this.path = path;
+  }
+
+  @Override
+  public void send(
+    List<TelemetryItem> items,
+    List<MetricAggregate.Snapshot> metrics
+  ) throws IOException {
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    try (
+      BufferedWriter writer = Files.newBufferedWriter(
+        path,
+        StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND
+      )
+    ) {
+      for (TelemetryItem item : items) {
+        writeLine(writer, toMap(item));
+      }
+      for (MetricAggregate.Snapshot metric : metrics) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("kind", "METRIC");
+        line.put("metric", metric);
+        writeLine(writer, line);
+      }
+    }
+  }
+
+  private void writeLine(BufferedWriter writer, Object value)
+    throws IOException {
+    writer.write(objectMapper.writeValueAsString(value));
+    writer.newLine();
+  }
+
+  private static Map<String, Object> toMap(TelemetryItem item) {
+    Map<String, Object> line = new LinkedHashMap<>();
+    line.put("kind", item.getKind());
+    line.put("timestamp", item.getTimestamp());
+    line.put("name", item.getName());
+    if (!item.getProperties().isEmpty()) {
+      line.put("properties", item.getProperties());
+    }
+    if (item.getSeverity() != null) {
+      line.put("severity", item.getSeverity());
+    }
+    if (item.getException() != null) {
+      StringWriter stackTrace = new StringWriter();
+      item.getException().printStackTrace(new PrintWriter(stackTrace));
+      line.put("stackTrace", stackTrace.toString());
+    }
+    return line;
+  }
+}
@@ -1,31 +1,72 @@
 package com.leadersfault.config;
 
 import com.leadersfault.dto.NotificationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.HashMap;
 import java.util.Map;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 @Configuration
+@ConditionalOnProperty(
+  name = "notifications.transport",
+  havingValue = "kafka",
+  matchIfMissing = true
+)
 public class KafkaConfig {
 
+  public static final String NOTIFICATIONS_TOPIC = "fault-notifications";
+
+  @Value("${notifications.topic.partitions:6}")
+  private int partitions;
+
+  @Value("${notifications.topic.replicas:1}")
+  private short replicas;
+
+  // One consumer thread per partition by default; extra threads would idle
+  @Value("${notifications.consumer.concurrency:${notifications.topic.partitions:6}}")
+  private int concurrency;
+
+  /**
+   * Records are keyed by recipient, so each recipient's notifications stay on
+   * one partition and are consumed in order by one thread. KafkaAdmin creates
+   * the topic, or adds partitions to an existing one; it never removes them.
+   * Adding partitions remaps keys, so order is only guaranteed for records
+   * published after the change.
+   */
+  @Bean
+  public NewTopic notificationsTopic() {
+    return TopicBuilder
+      .name(NOTIFICATIONS_TOPIC)
+      .partitions(partitions)
+      .replicas(replicas)
+      .build();
+  }
+
   @Bean
   public ProducerFactory<String, NotificationEvent> producerFactory(
-    KafkaProperties kafkaProperties
+    KafkaProperties kafkaProperties,
+    MeterRegistry meterRegistry
   ) {
-    return new DefaultKafkaProducerFactory<>(
+    DefaultKafkaProducerFactory<String, NotificationEvent> factory = new DefaultKafkaProducerFactory<>(
       kafkaProperties.buildProducerProperties()
     );
+    // Boot only binds client metrics to the factories it creates itself
+    factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+    return factory;
   }
 
   @Bean
@@ -37,11 +78,15 @@ public class KafkaConfig {
 
   @Bean
   public ConsumerFactory<String, NotificationEvent> consumerFactory(
-    KafkaProperties kafkaProperties
+    KafkaProperties kafkaProperties,
+    MeterRegistry meterRegistry
   ) {
-    return new DefaultKafkaConsumerFactory<>(
+    DefaultKafkaConsumerFactory<String, NotificationEvent> factory = new DefaultKafkaConsumerFactory<>(
       kafkaProperties.buildConsumerProperties()
     );
+    // Exposes kafka_consumer_fetch_manager_records_lag per topic and partition
+    factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+    return factory;
   }
 
   @Bean
@@ -50,6 +95,19 @@ public class KafkaConfig {
   ) {
     ConcurrentKafkaListenerContainerFactory<String, NotificationEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
     factory.setConsumerFactory(consumerFactory);
+    factory.setConcurrency(concurrency);
+    return factory;
+  }
+
+  /** Hands listeners the whole polled batch (up to max.poll.records). */
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, NotificationEvent> batchKafkaListenerContainerFactory(
+    ConsumerFactory<String, NotificationEvent> consumerFactory
+  ) {
+    ConcurrentKafkaListenerContainerFactory<String, NotificationEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(consumerFactory);
+    factory.setConcurrency(concurrency);
+    factory.setBatchListener(true);
     return factory;
   }
 }
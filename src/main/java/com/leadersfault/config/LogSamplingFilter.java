@@ -0,0 +1,128 @@
+package com.leadersfault.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+/**
+ * Rate-limits INFO and lower messages from the configured hot-path loggers,
+ * each to {@code permitsPerSecond} with bursts of up to {@code burst}.
+ * WARN and ERROR always pass. When a logger is allowed through again after
+ * dropping messages, the drop count is logged first under this class's
+ * logger. The limit is a lock-free GCRA: one CAS per sampled message.
+ *
+ * <pre>
+ * &lt;turboFilter class="com.leadersfault.config.LogSamplingFilter"&gt;
+ *   &lt;sampledLogger&gt;com.leadersfault.service.KafkaConsumerService&lt;/sampledLogger&gt;
+ *   &lt;permitsPerSecond&gt;5&lt;/permitsPerSecond&gt;
+ *   &lt;burst&gt;20&lt;/burst&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+  private static final org.slf4j.Logger summaryLogger = LoggerFactory.getLogger(
+    LogSamplingFilter.class
+  );
+
+  private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+  private double permitsPerSecond = 5;
+  private int burst = 20;
+
+  public void addSampledLogger(String name) {
+    limits.put(name.trim(), new Limit());
+  }
+
+  public void setPermitsPerSecond(double permitsPerSecond) {
+    this.permitsPerSecond = permitsPerSecond;
+  }
+
+  public void setBurst(int burst) {
+    this.burst = burst;
+  }
+
+  @Override
+  public void start() {
+    if (permitsPerSecond <= 0 || burst < 1) {
+      addError("permitsPerSecond must be positive and burst at least 1");
+      return;
+    }
+    long intervalNanos = (long) (
+      TimeUnit.SECONDS.toNanos(1) / permitsPerSecond
+    );
+    limits.values().forEach(limit -> limit.configure(intervalNanos, burst));
+    super.start();
+  }
+
+  @Override
+  public FilterReply decide(
+    Marker marker,
+    Logger logger,
+    Level level,
+    String format,
+    Object[] params,
+    Throwable t
+  ) {
+    // format is null for isXxxEnabled() checks, which must not spend permits
+    if (
+      format == null ||
+      level.isGreaterOrEqual(Level.WARN) ||
+      !level.isGreaterOrEqual(logger.getEffectiveLevel())
+    ) {
+      return FilterReply.NEUTRAL;
+    }
+    Limit limit = limits.get(logger.getName());
+    if (limit == null) {
+      return FilterReply.NEUTRAL;
+    }
+    if (!limit.tryAcquire()) {
+      limit.dropped.incrementAndGet();
+      return FilterReply.DENY;
+    }
+    long dropped = limit.dropped.getAndSet(0);
+    if (dropped > 0) {
+      summaryLogger.info(
+        "Sampled out {} messages from {}",
+        dropped,
+        logger.getName()
+      );
+    }
+    return FilterReply.NEUTRAL;
+  }
+
+  private static class Limit {
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(
+      System.nanoTime()
+    );
+    private final AtomicLong dropped = new AtomicLong();
+    private long intervalNanos;
+    private long toleranceNanos;
+
+    void configure(long intervalNanos, int burst) {
+      this.intervalNanos = intervalNanos;
+      this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    boolean tryAcquire() {
+      while (true) {
+        long now = System.nanoTime();
+        long tat = theoreticalArrival.get();
+        long start = tat - now > 0 ? tat : now;
+        if (start - now > toleranceNanos) {
+          return false;
+        }
+        if (theoreticalArrival.compareAndSet(tat, start + intervalNanos)) {
+          return true;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package com.leadersfault.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free running aggregate of one metric series: count, sum, min, max and
+ * a histogram with power-of-two bucket bounds from 2^-10 upwards. Recording
+ * only touches striped adders, so concurrent callers do not contend, and
+ * {@link #snapshotAndReset} starts a new interval. A sample recorded while a
+ * snapshot is being taken may land in either interval, never in neither.
+ */
+public final class MetricAggregate {
+
+  private static final int MIN_EXPONENT = -10;
+  private static final int BUCKETS = 64;
+
+  private final String name;
+  private final Map<String, String> properties;
+
+  private final LongAdder count = new LongAdder();
+  private final DoubleAdder sum = new DoubleAdder();
+  private final DoubleAdder sumOfSquares = new DoubleAdder();
+  private final DoubleAccumulator min = new DoubleAccumulator(
+    Math::min,
+    Double.POSITIVE_INFINITY
+  );
+  private final DoubleAccumulator max = new DoubleAccumulator(
+    Math::max,
+    Double.NEGATIVE_INFINITY
+  );
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+  MetricAggregate(String name, Map<String, String> properties) {
+    this.name = name;
+    this.properties = properties;
+  }
+
+  void record(double value) {
+    count.increment();
+    sum.add(value);
+    sumOfSquares.add(value * value);
+    min.accumulate(value);
+    max.accumulate(value);
+    buckets.incrementAndGet(bucketOf(value));
+  }
+
+  /** The interval since the last call, or null if nothing was recorded. */
+  Snapshot snapshotAndReset() {
+    long n = count.sumThenReset();
+    double total = sum.sumThenReset();
+    double squares = sumOfSquares.sumThenReset();
+    double low = min.getThenReset();
+    double high = max.getThenReset();
+    Map<Double, Long> histogram = new LinkedHashMap<>();
+    for (int i = 0; i < BUCKETS; i++) {
+      long inBucket = buckets.getAndSet(i, 0);
+      if (inBucket > 0) {
+        histogram.put(upperBoundOf(i), inBucket);
+      }
+    }
+    if (n == 0) {
+      return null;
+    }
+    double mean = total / n;
+    double variance = Math.max(0, squares / n - mean * mean);
+    return new Snapshot(
+      name,
+      properties,
+      n,
+      total,
+      low,
+      high,
+      Math.sqrt(variance),
+      histogram
+    );
+  }
+
+  private static int bucketOf(double value) {
+    if (!(value > 0)) {
+      return 0;
+    }
+    int exponent = Math.getExponent(value);
+    // Values that are not exact powers of two belong under the next bound
+    if (value > Math.scalb(1.0, exponent)) {
+      exponent++;
+    }
+    return Math.max(0, Math.min(BUCKETS - 1, exponent - MIN_EXPONENT));
+  }
+
+  private static double upperBoundOf(int bucket) {
+    return bucket == BUCKETS - 1
+      ? Double.POSITIVE_INFINITY
+      : Math.scalb(1.0, bucket + MIN_EXPONENT);
+  }
+
+  /** One flushed interval of a metric series. */
+  public static final class Snapshot {
+
+    private final String name;
+    private final Map<String, String> properties;
+    private final long count;
+    private final double sum;
+    private final double min;
+    private final double max;
+    private final double standardDeviation;
+    private final Map<Double, Long> buckets;
+
+    private Snapshot(
+      String name,
+      Map<String, String> properties,
+      long count,
+      double sum,
+      double min,
+      double max,
+      double standardDeviation,
+      Map<Double, Long> buckets
+    ) {
+      this.name = name;
+      this.properties = properties;
+      this.count = count;
+      this.sum = sum;
+      this.min = min;
+      this.max = max;
+      this.standardDeviation = standardDeviation;
+      this.buckets = buckets;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public Map<String, String> getProperties() {
+      return properties;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public double getSum() {
+      return sum;
+    }
+
+    public double getMin() {
+      return min;
+    }
+
+    public double getMax() {
+      return max;
+    }
+
+    public double getStandardDeviation() {
+      return standardDeviation;
+    }
+
+    /** Non-empty buckets keyed by inclusive upper bound, in ascending order. */
+    public Map<Double, Long> getBuckets() {
+      return buckets;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.leadersfault.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements one call of a request handler may issue.
+ * {@code QueryBudgetTest} drives every annotated handler against embedded
+ * Postgres and fails the build when one issues more, so an N+1 regression
+ * breaks the build instead of slowing pages down. Every handler must carry
+ * one.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+  int value();
+}
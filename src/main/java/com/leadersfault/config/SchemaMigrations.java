@@ -0,0 +1,157 @@
+package com.leadersfault.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Idempotent data migrations that Hibernate's {@code ddl-auto: update} cannot
+ * express. Runs once the schema has been updated and before any listener
+ * containers start. Legacy tables are renamed rather than dropped once their
+ * rows have been carried over.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaMigrations {
+
+  private static final Logger logger = LoggerFactory.getLogger(
+    SchemaMigrations.class
+  );
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @PostConstruct
+  public void migrate() {
+    new TransactionTemplate(transactionManager)
+      .executeWithoutResult(status -> {
+        migrateFaultVotes();
+        migrateLeaderVotes();
+        alignNotificationSequence();
+        alignOutboxSequence();
+      });
+  }
+
+  /**
+   * Outbox ids used to come from the pooled {@code notification_outbox_seq}
+   * and now come from {@code notification_outbox_order_seq}, one at a time.
+   * Start the new sequence past any row still waiting to be relayed.
+   */
+  private void alignOutboxSequence() {
+    jdbcTemplate.queryForObject(
+      "SELECT setval('notification_outbox_order_seq', GREATEST(" +
+      "(SELECT COALESCE(MAX(id), 0) FROM notification_outbox) + 1, " +
+      "(SELECT last_value FROM notification_outbox_order_seq)))",
+      Long.class
+    );
+  }
+
+  /**
+   * Notification ids used to come from an identity column and now come from
+   * the pooled {@code notifications_seq}. Keep the sequence at least one
+   * allocation block past every existing id, so no pooled block can reuse an
+   * id. The value never moves backwards, so running instances are unaffected.
+   */
+  private void alignNotificationSequence() {
+    jdbcTemplate.queryForObject(
+      "SELECT setval('notifications_seq', GREATEST(" +
+      "(SELECT COALESCE(MAX(id), 0) FROM notifications) + 50, " +
+      "(SELECT last_value FROM notifications_seq)))",
+      Long.class
+    );
+  }
+
+  private void migrateFaultVotes() {
+    if (!tableExists("fault_likes") && !tableExists("fault_dislikes")) {
+      return;
+    }
+
+    int copied = 0;
+    if (tableExists("fault_likes")) {
+      copied +=
+        jdbcTemplate.update(
+          "INSERT INTO fault_votes (fault_id, user_id, value) " +
+          "SELECT DISTINCT fault_id, user_id, 1 FROM fault_likes " +
+          "ON CONFLICT DO NOTHING"
+        );
+      jdbcTemplate.execute(
+        "ALTER TABLE fault_likes RENAME TO fault_likes_legacy"
+      );
+    }
+    if (tableExists("fault_dislikes")) {
+      copied +=
+        jdbcTemplate.update(
+          "INSERT INTO fault_votes (fault_id, user_id, value) " +
+          "SELECT DISTINCT fault_id, user_id, -1 FROM fault_dislikes " +
+          "ON CONFLICT DO NOTHING"
+        );
+      jdbcTemplate.execute(
+        "ALTER TABLE fault_dislikes RENAME TO fault_dislikes_legacy"
+      );
+    }
+
+    jdbcTemplate.update(
+      "UPDATE faults f SET " +
+      "like_count = (SELECT COUNT(*) FROM fault_votes v WHERE v.fault_id = f.id AND v.value = 1), " +
+      "dislike_count = (SELECT COUNT(*) FROM fault_votes v WHERE v.fault_id = f.id AND v.value = -1)"
+    );
+    logger.info("Migrated {} legacy fault votes into fault_votes", copied);
+  }
+
+  private void migrateLeaderVotes() {
+    if (!tableExists("leader_likes") && !tableExists("leader_dislikes")) {
+      return;
+    }
+
+    int copied = 0;
+    if (tableExists("leader_likes")) {
+      copied +=
+        jdbcTemplate.update(
+          "INSERT INTO leader_votes (leader_id, user_id, value) " +
+          "SELECT DISTINCT leader_id, user_id, 1 FROM leader_likes " +
+          "ON CONFLICT DO NOTHING"
+        );
+      jdbcTemplate.execute(
+        "ALTER TABLE leader_likes RENAME TO leader_likes_legacy"
+      );
+    }
+    if (tableExists("leader_dislikes")) {
+      copied +=
+        jdbcTemplate.update(
+          "INSERT INTO leader_votes (leader_id, user_id, value) " +
+          "SELECT DISTINCT leader_id, user_id, -1 FROM leader_dislikes " +
+          "ON CONFLICT DO NOTHING"
+        );
+      jdbcTemplate.execute(
+        "ALTER TABLE leader_dislikes RENAME TO leader_dislikes_legacy"
+      );
+    }
+
+    // The old read-modify-write counters may have drifted; rebuild them
+    jdbcTemplate.update(
+      "UPDATE leaders l SET " +
+      "likes = (SELECT COUNT(*) FROM leader_votes v WHERE v.leader_id = l.id AND v.value = 1), " +
+      "dislikes = (SELECT COUNT(*) FROM leader_votes v WHERE v.leader_id = l.id AND v.value = -1)"
+    );
+    logger.info("Migrated {} legacy leader votes into leader_votes", copied);
+  }
+
+  private boolean tableExists(String table) {
+    return Boolean.TRUE.equals(
+      jdbcTemplate.queryForObject(
+        "SELECT to_regclass(?) IS NOT NULL",
+        Boolean.class,
+        table
+      )
+    );
+  }
+}
@@ -0,0 +1,86 @@
+package com.leadersfault.config;
+
+import com.microsoft.applicationinsights.telemetry.SeverityLevel;
+import java.time.Instant;
+import java.util.Map;
+
+/** One queued event, trace or exception, captured at the call site. */
+public final class TelemetryItem {
+
+  public enum Kind {
+    EVENT,
+    TRACE,
+    EXCEPTION,
+  }
+
+  private final Kind kind;
+  private final Instant timestamp;
+  private final String name;
+  private final Map<String, String> properties;
+  private final SeverityLevel severity;
+  private final Exception exception;
+
+  private TelemetryItem(
+    Kind kind,
+    String name,
+    Map<String, String> properties,
+    SeverityLevel severity,
+    Exception exception
+  ) {
+    this.kind = kind;
+    this.timestamp = Instant.now();
+    this.name = name;
+    this.properties = properties == null ? Map.of() : Map.copyOf(properties);
+    this.severity = severity;
+    this.exception = exception;
+  }
+
+  static TelemetryItem event(String name, Map<String, String> properties) {
+    return new TelemetryItem(Kind.EVENT, name, properties, null, null);
+  }
+
+  static TelemetryItem trace(
+    String message,
+    SeverityLevel severity,
+    Map<String, String> properties
+  ) {
+    return new TelemetryItem(Kind.TRACE, message, properties, severity, null);
+  }
+
+  static TelemetryItem exception(Exception exception) {
+    return new TelemetryItem(
+      Kind.EXCEPTION,
+      exception.getClass().getName(),
+      null,
+      null,
+      exception
+    );
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  public Instant getTimestamp() {
+    return timestamp;
+  }
+
+  /** Event name, trace message or exception class name. */
+  public String getName() {
+    return name;
+  }
+
+  public Map<String, String> getProperties() {
+    return properties;
+  }
+
+  /** Set for traces only. */
+  public SeverityLevel getSeverity() {
+    return severity;
+  }
+
+  /** Set for exceptions only. */
+  public Exception getException() {
+    return exception;
+  }
+}
@@ -1,71 +1,126 @@
 package com.leadersfault.config;
 
-import com.microsoft.applicationinsights.TelemetryClient;
 import com.microsoft.applicationinsights.telemetry.SeverityLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Records telemetry without blocking the caller. Events, traces and
+ * exceptions go onto a bounded lock-free queue; metrics are aggregated in
+ * place per name and property set. A single background thread flushes both
+ * to the {@link TelemetrySink} every {@code telemetry.flush-interval}, or
+ * sooner once a full batch is queued.
+ *
+ * <p>When the queue is full, or the metric series limit is reached, the
+ * item is dropped and counted in {@code telemetry.dropped}; a sink failure
+ * drops its batch the same way. Individual calls are logged at DEBUG only,
+ * except exceptions, which are still logged at ERROR.
+ */
 @Component
 public class TelemetryLogger {
 
   private static final Logger logger = LoggerFactory.getLogger(
     TelemetryLogger.class
   );
-  private final TelemetryClient telemetryClient;
 
-  public TelemetryLogger(TelemetryClient telemetryClient) {
-    this.telemetryClient = telemetryClient;
+  private final TelemetrySink sink;
+  private final int queueCapacity;
+  private final int batchSize;
+  private final int maxMetricSeries;
+  private final Duration flushInterval;
+
+  private final ConcurrentLinkedQueue<TelemetryItem> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final Map<Map.Entry<String, Map<String, String>>, MetricAggregate> metrics = new ConcurrentHashMap<>();
+
+  private final Counter droppedQueueFull;
+  private final Counter droppedSeriesLimit;
+  private final Counter droppedSinkError;
+
+  private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+    runnable -> {
+      Thread thread = new Thread(runnable, "telemetry-flush");
+      thread.setDaemon(true);
+      return thread;
+    }
+  );
+
+  public TelemetryLogger(
+    TelemetrySink sink,
+    MeterRegistry meterRegistry,
+    @Value("${telemetry.queue-capacity:10000}") int queueCapacity,
+    @Value("${telemetry.batch-size:500}") int batchSize,
+    @Value("${telemetry.max-metric-series:1000}") int maxMetricSeries,
+    @Value("${telemetry.flush-interval:5s}") Duration flushInterval
+  ) {
+    this.sink = sink;
+    this.queueCapacity = queueCapacity;
+    this.batchSize = batchSize;
+    this.maxMetricSeries = maxMetricSeries;
+    this.flushInterval = flushInterval;
+
+    this.droppedQueueFull = dropCounter(meterRegistry, "queue_full");
+    this.droppedSeriesLimit = dropCounter(meterRegistry, "series_limit");
+    this.droppedSinkError = dropCounter(meterRegistry, "sink_error");
+    meterRegistry.gauge("telemetry.queue.size", queued);
+  }
+
+  @PostConstruct
+  public void start() {
+    long intervalMs = flushInterval.toMillis();
+    flusher.scheduleWithFixedDelay(
+      this::flush,
+      intervalMs,
+      intervalMs,
+      TimeUnit.MILLISECONDS
+    );
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    flusher.shutdown();
+    flusher.awaitTermination(5, TimeUnit.SECONDS);
+    // Drain whatever arrived after the last scheduled flush
+    flush();
   }
 
   public void trackEvent(String eventName) {
-    try {
-      telemetryClient.trackEvent(eventName);
-      logger.info("Tracked event: {}", eventName);
-    } catch (Exception e) {
-      logger.error("Failed to track event: {}", eventName, e);
-    }
+    trackEvent(eventName, null);
   }
 
   public void trackEvent(String eventName, Map<String, String> properties) {
-    try {
-      telemetryClient.trackEvent(eventName, properties, null);
-      logger.info(
-        "Tracked event: {} with properties: {}",
-        eventName,
-        properties
-      );
-    } catch (Exception e) {
-      logger.error(
-        "Failed to track event: {} with properties: {}",
-        eventName,
-        properties,
-        e
-      );
-    }
+    enqueue(TelemetryItem.event(eventName, properties));
+    logger.debug(
+      "Tracked event: {} with properties: {}",
+      eventName,
+      properties
+    );
   }
 
   public void trackException(Exception exception) {
-    try {
-      telemetryClient.trackException(exception);
-      logger.error("Tracked exception", exception);
-    } catch (Exception e) {
-      logger.error("Failed to track exception", e);
-    }
+    enqueue(TelemetryItem.exception(exception));
+    logger.error("Tracked exception", exception);
   }
 
   public void trackTrace(String message, SeverityLevel severityLevel) {
-    try {
-      telemetryClient.trackTrace(message, severityLevel);
-      logger.info(
-        "Tracked trace: {} with severity: {}",
-        message,
-        severityLevel
-      );
-    } catch (Exception e) {
-      logger.error("Failed to track trace: {}", message, e);
-    }
+    trackTrace(message, severityLevel, null);
   }
 
   public void trackTrace(
@@ -73,55 +128,108 @@ public class TelemetryLogger {
     SeverityLevel severityLevel,
     Map<String, String> properties
   ) {
-    try {
-      telemetryClient.trackTrace(message, severityLevel, properties);
-      logger.info(
-        "Tracked trace: {} with severity: {} and properties: {}",
-        message,
-        severityLevel,
-        properties
-      );
-    } catch (Exception e) {
-      logger.error(
-        "Failed to track trace: {} with properties: {}",
-        message,
-        properties,
-        e
-      );
-    }
+    enqueue(TelemetryItem.trace(message, severityLevel, properties));
+    logger.debug(
+      "Tracked trace: {} with severity: {} and properties: {}",
+      message,
+      severityLevel,
+      properties
+    );
   }
 
   public void trackMetric(String name, double value) {
-    try {
-      telemetryClient.trackMetric(name, value);
-      logger.info("Tracked metric: {} with value: {}", name, value);
-    } catch (Exception e) {
-      logger.error("Failed to track metric: {}", name, e);
-    }
+    trackMetric(name, value, null);
   }
 
+  /**
+   * Adds {@code value} to the series for {@code name} and
+   * {@code properties}; each flush sends one aggregate per series.
+   */
   public void trackMetric(
     String name,
     double value,
     Map<String, String> properties
+  ) {
+    Map<String, String> key = properties == null
+      ? Map.of()
+      : Map.copyOf(properties);
+    Map.Entry<String, Map<String, String>> series = Map.entry(name, key);
+    MetricAggregate aggregate = metrics.get(series);
+    if (aggregate == null) {
+      if (metrics.size() >= maxMetricSeries) {
+        droppedSeriesLimit.increment();
+        return;
+      }
+      aggregate =
+        metrics.computeIfAbsent(series, s -> new MetricAggregate(name, key));
+    }
+    aggregate.record(value);
+  }
+
+  private void enqueue(TelemetryItem item) {
+    int size = queued.incrementAndGet();
+    if (size > queueCapacity) {
+      queued.decrementAndGet();
+      droppedQueueFull.increment();
+      return;
+    }
+    queue.offer(item);
+    if (size == batchSize) {
+      try {
+        flusher.execute(this::flush);
+      } catch (RejectedExecutionException e) {
+        // Shutting down; stop() drains the queue
+      }
+    }
+  }
+
+  private synchronized void flush() {
+    List<MetricAggregate.Snapshot> snapshots = new ArrayList<>();
+    for (MetricAggregate aggregate : metrics.values()) {
+      MetricAggregate.Snapshot snapshot = aggregate.snapshotAndReset();
+      if (snapshot != null) {
+        snapshots.add(snapshot);
+      }
+    }
+
+    List<TelemetryItem> batch;
+    do {
+      batch = new ArrayList<>(batchSize);
+      TelemetryItem item;
+      while (batch.size() < batchSize && (item = queue.poll()) != null) {
+        batch.add(item);
+      }
+      queued.addAndGet(-batch.size());
+      if (batch.isEmpty() && snapshots.isEmpty()) {
+        return;
+      }
+      send(batch, snapshots);
+      snapshots = List.of();
+    } while (batch.size() == batchSize);
+  }
+
+  private void send(
+    List<TelemetryItem> batch,
+    List<MetricAggregate.Snapshot> snapshots
   ) {
     try {
-      // The Application Insights SDK doesn't support properties for metrics directly
-      // We'll track the metric without properties and log the properties separately
-      telemetryClient.trackMetric(name, value);
-      logger.info(
-        "Tracked metric: {} with value: {} and properties: {}",
-        name,
-        value,
-        properties
-      );
+      sink.send(batch, snapshots);
     } catch (Exception e) {
-      logger.error(
-        "Failed to track metric: {} with properties: {}",
-        name,
-        properties,
-        e
+      droppedSinkError.increment(batch.size() + snapshots.size());
+      logger.warn(
+        "Dropped {} telemetry items and {} metric series: {}",
+        batch.size(),
+        snapshots.size(),
+        e.toString()
       );
     }
   }
+
+  private static Counter dropCounter(MeterRegistry registry, String reason) {
+    return Counter
+      .builder("telemetry.dropped")
+      .description("Telemetry items and metric samples that were not sent")
+      .tag("reason", reason)
+      .register(registry);
+  }
 }
@@ -0,0 +1,16 @@
+package com.leadersfault.config;
+
+import java.util.List;
+
+/**
+ * Destination for the batches {@link TelemetryLogger} flushes from its
+ * background thread. Implementations may block; a thrown exception drops the
+ * batch and is counted, it never reaches a request thread.
+ */
+public interface TelemetrySink {
+  void send(List<TelemetryItem> items, List<MetricAggregate.Snapshot> metrics)
+    throws Exception;
+
+  /** Sink for environments without a telemetry backend. */
+  TelemetrySink NONE = (items, metrics) -> {};
+}
@@ -0,0 +1,41 @@
+package com.leadersfault.config;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import java.nio.file.Path;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TelemetrySinkConfig {
+
+  /**
+   * Picks the sink from {@code telemetry.sink}: {@code appinsights} (the
+   * default), {@code file} (JSON lines at {@code telemetry.file}) or
+   * {@code none}.
+   */
+  @Bean
+  public TelemetrySink telemetrySink(
+    @Value("${telemetry.sink:appinsights}") String sink,
+    @Value("${telemetry.file:logs/telemetry.jsonl}") String file,
+    ObjectProvider<TelemetryClient> telemetryClient
+  ) {
+    switch (sink) {
+      case "appinsights":
+        return new ApplicationInsightsTelemetrySink(
+          telemetryClient.getObject()
+        );
+      case "file":
+        return new FileTelemetrySink(Path.of(file));
+      case "none":
+        return TelemetrySink.NONE;
+      default:
+        throw new IllegalStateException(
+          "Unknown telemetry.sink '" +
+          sink +
+          "', expected appinsights, file or none"
+        );
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.leadersfault.controller;
 
+import com.leadersfault.config.QueryBudget;
 import com.leadersfault.config.TelemetryLogger;
 import com.leadersfault.dto.AuthRequest;
 import com.leadersfault.dto.AuthResponse;
@@ -7,9 +8,12 @@ import com.leadersfault.dto.RegisterRequest;
 import com.leadersfault.dto.UserSearchResponse;
 import com.leadersfault.entity.User;
 import com.leadersfault.repository.UserRepository;
+import com.leadersfault.security.AuthenticatedUser;
 import com.leadersfault.security.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -17,7 +21,6 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -38,6 +41,7 @@ public class AuthController {
   private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
   @PostMapping("/register")
+  @QueryBudget(2)
   public ResponseEntity<?> registerUser(
     @RequestBody RegisterRequest registerRequest
   ) {
@@ -58,6 +62,7 @@ public class AuthController {
   }
 
   @PostMapping("/login")
+  @QueryBudget(1)
   public ResponseEntity<?> createAuthenticationToken(
     @RequestBody AuthRequest authRequest
   ) {
@@ -109,7 +114,10 @@ public class AuthController {
           );
 
           // Generate JWT token
-          String token = jwtUtil.generateToken(user.getUsername());
+          String token = jwtUtil.generateToken(
+            user.getUsername(),
+            user.getId()
+          );
           return ResponseEntity.ok(new AuthResponse(token));
         }
       }
@@ -130,67 +138,49 @@ public class AuthController {
   }
 
   @PostMapping("/validate")
-  public ResponseEntity<?> validateToken(
-    @RequestHeader("Authorization") String authHeader
-  ) {
-    try {
-      if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-        return ResponseEntity
-          .status(401)
-          .body("Invalid Authorization header format");
-      }
-      String token = authHeader.substring(7).trim(); // Remove "Bearer " prefix and trim whitespace
-      jwtUtil.validateJwt(token);
-      return ResponseEntity.ok("Token is valid");
-    } catch (Exception e) {
-      return ResponseEntity.status(401).body(e.getMessage());
+  @QueryBudget(0)
+  public ResponseEntity<?> validateToken(HttpServletRequest request) {
+    if (AuthenticatedUser.from(request) == null) {
+      return ResponseEntity.status(401).body("Invalid or expired token");
     }
+    return ResponseEntity.ok("Token is valid");
   }
 
   @GetMapping("/me")
-  public ResponseEntity<?> getCurrentUser(
-    @RequestHeader("Authorization") String authHeader
-  ) {
-    try {
-      // Extract token from Authorization header
-      String token = authHeader.replace("Bearer ", "").trim();
-      jwtUtil.validateJwt(token);
-
-      // Extract username from token
-      String username = jwtUtil.extractUsername(token);
+  @QueryBudget(1)
+  public ResponseEntity<?> getCurrentUser(HttpServletRequest request) {
+    AuthenticatedUser caller = AuthenticatedUser.from(request);
+    if (caller == null) {
+      return ResponseEntity.status(401).body("Unauthorized");
+    }
 
-      // Find user by username
-      var userOptional = userRepository.findByUsername(username);
+    // Find user by the id resolved from the token
+    Optional<User> userOptional = caller.getUserId() != null
+      ? userRepository.findById(caller.getUserId())
+      : Optional.empty();
 
-      if (userOptional.isPresent()) {
-        User user = userOptional.get();
-        // Return user details (excluding password)
-        return ResponseEntity.ok(
-          new UserSearchResponse(
-            user.getId(),
-            user.getUsername(),
-            user.getEmail()
-          )
-        );
-      } else {
-        return ResponseEntity.status(404).body("User not found");
-      }
-    } catch (Exception e) {
-      telemetryLogger.trackException(e);
-      return ResponseEntity.status(401).body("Unauthorized: " + e.getMessage());
+    if (userOptional.isPresent()) {
+      User user = userOptional.get();
+      // Return user details (excluding password)
+      return ResponseEntity.ok(
+        new UserSearchResponse(user.getId(), user.getUsername(), user.getEmail())
+      );
+    } else {
+      return ResponseEntity.status(404).body("User not found");
     }
   }
 
   @GetMapping("/search")
+  @QueryBudget(1)
   public ResponseEntity<?> searchUsers(
-    @RequestParam String query,
-    @RequestHeader("Authorization") String authHeader
+    HttpServletRequest request,
+    @RequestParam String query
   ) {
-    try {
-      // Extract token from Authorization header
-      String token = authHeader.replace("Bearer ", "").trim(); // Also trim whitespace
-      jwtUtil.validateJwt(token);
+    if (AuthenticatedUser.from(request) == null) {
+      return ResponseEntity.status(401).body("Unauthorized");
+    }
 
+    try {
       // Validate query parameter
       if (query == null || query.trim().isEmpty()) {
         return ResponseEntity.badRequest().body("Query parameter is required");
@@ -228,7 +218,9 @@ public class AuthController {
       return ResponseEntity.ok(searchResults);
     } catch (Exception e) {
       telemetryLogger.trackException(e);
-      return ResponseEntity.status(401).body("Unauthorized: " + e.getMessage());
+      return ResponseEntity
+        .status(500)
+        .body("An unexpected error occurred during search: " + e.getMessage());
     }
   }
 }
@@ -2,35 +2,36 @@ package com.leadersfault.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leadersfault.config.QueryBudget;
 import com.leadersfault.dto.FaultRequest;
 import com.leadersfault.dto.FaultResponse;
-import com.leadersfault.dto.LeaderResponse;
-import com.leadersfault.dto.NotificationEvent;
+import com.leadersfault.dto.FeedCursor;
 import com.leadersfault.dto.PaginatedResponse;
 import com.leadersfault.entity.Fault;
+import com.leadersfault.entity.FaultVote;
 import com.leadersfault.entity.Leader;
-import com.leadersfault.entity.NotificationType;
-import com.leadersfault.entity.User;
 import com.leadersfault.repository.FaultRepository;
 import com.leadersfault.repository.LeaderRepository;
-import com.leadersfault.repository.UserRepository;
-import com.leadersfault.security.JwtUtil;
+import com.leadersfault.security.AuthenticatedUser;
 import com.leadersfault.service.CloudinaryService;
-import com.leadersfault.service.KafkaProducerService;
-import com.leadersfault.service.UserValidationService;
+import com.leadersfault.service.FaultService;
+import com.leadersfault.service.FaultVoteService;
+import com.leadersfault.service.FeedCache;
+import com.leadersfault.service.FeedPage;
+import com.leadersfault.service.VoteStatusResolver;
+import com.leadersfault.service.VoteTransition;
 import jakarta.servlet.http.HttpServletRequest;
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -38,10 +39,6 @@ import org.springframework.web.multipart.MultipartFile;
 @RequestMapping("/api/faults")
 public class FaultController {
 
-  private static final Logger logger = LoggerFactory.getLogger(
-    FaultController.class
-  );
-
   @Autowired
   private FaultRepository faultRepository;
 
@@ -49,21 +46,22 @@ public class FaultController {
   private LeaderRepository leaderRepository;
 
   @Autowired
-  private UserRepository userRepository;
+  private CloudinaryService cloudinaryService;
 
   @Autowired
-  private UserValidationService userValidationService;
+  private FaultVoteService faultVoteService;
 
   @Autowired
-  private CloudinaryService cloudinaryService;
+  private VoteStatusResolver voteStatusResolver;
 
   @Autowired
-  private JwtUtil jwtUtil;
+  private FeedCache feedCache;
 
   @Autowired
-  private KafkaProducerService kafkaProducerService;
+  private FaultService faultService;
 
   @PostMapping
+  @QueryBudget(4)
   public ResponseEntity<?> createFault(
     HttpServletRequest request,
     @RequestPart("title") String title,
@@ -72,14 +70,12 @@ public class FaultController {
     @RequestPart("image") MultipartFile imageFile
   ) {
     try {
-      String token = request.getHeader("Authorization");
-      if (token == null || !token.startsWith("Bearer ")) {
+      AuthenticatedUser caller = AuthenticatedUser.from(request);
+      if (caller == null) {
         return ResponseEntity
           .status(401)
           .body("Unauthorized: Missing or invalid token");
       }
-      token = token.substring(7).trim(); // Remove "Bearer " prefix and trim any whitespace
-      jwtUtil.validateJwt(token);
       // Upload image to Cloudinary
       String imageUrl = cloudinaryService.uploadFile(imageFile);
 
@@ -88,8 +84,7 @@ public class FaultController {
       fault.setDescription(description);
       fault.setImageUrl(imageUrl);
 
-      String username = userValidationService.getUsernameFromToken(token);
-      fault.setUploadedBy(username);
+      fault.setUploadedBy(caller.getUsername());
 
       // Deserialize leaderIds from JSON string
       ObjectMapper objectMapper = new ObjectMapper();
@@ -102,22 +97,24 @@ public class FaultController {
 
       // Associate fault with leaders
       if (leaderIds != null && !leaderIds.isEmpty()) {
+        Map<Long, Leader> leadersById = leaderRepository
+          .findAllById(leaderIds)
+          .stream()
+          .collect(Collectors.toMap(Leader::getId, leader -> leader));
         List<Leader> leaders = leaderIds
           .stream()
-          .map(leaderRepository::findById)
-          .filter(Optional::isPresent)
-          .map(Optional::get)
+          .distinct()
+          .map(leadersById::get)
+          .filter(Objects::nonNull)
           .collect(Collectors.toList());
 
         fault.setLeaders(leaders);
-        // Also update the leaders to include this fault and increment the number of faults
-        for (Leader leader : leaders) {
-          leader.setNumberOfFaults(leader.getNumberOfFaults() + 1);
-        }
-        leaderRepository.saveAll(leaders);
       }
 
-      return ResponseEntity.ok(faultRepository.save(fault));
+      // Saved together with its leaders' incremented fault counts
+      Fault saved = faultService.createFault(fault);
+      feedCache.faultAddedOrRemoved(saved.getId(), leaderIdsOf(saved));
+      return ResponseEntity.ok(saved);
     } catch (JsonProcessingException e) {
       return ResponseEntity
         .status(400)
@@ -191,59 +188,125 @@ public class FaultController {
   // }
 
   @GetMapping
-  @Transactional(readOnly = true)
+  @QueryBudget(4)
   public ResponseEntity<PaginatedResponse<FaultResponse>> getFaults(
     HttpServletRequest request,
     @RequestParam(defaultValue = "0") int page,
-    @RequestParam(defaultValue = "10") int limit
+    @RequestParam(defaultValue = "10") int limit,
+    @RequestParam(required = false) String cursor
   ) {
-    User user = getUserFromRequest(request);
-    Pageable pageable = PageRequest.of(page, limit);
-    Page<Fault> faultPage = faultRepository.findAll(pageable);
+    Long userId = AuthenticatedUser.userIdOf(request);
+    if (cursor != null) {
+      return getFaultsByCursor(userId, cursor, limit);
+    }
 
-    List<FaultResponse> faultResponses = faultPage
-      .stream()
-      .map(fault -> convertToDto(fault, user, faultPage.getTotalPages()))
-      .collect(Collectors.toList());
+    FeedPage feedPage = feedCache.faultPage(
+      "page:" + page + ":" + limit,
+      () -> {
+        Pageable pageable = PageRequest.of(
+          page,
+          limit,
+          Sort.by(Sort.Direction.DESC, "createdAt", "id")
+        );
+        Page<Fault> faultPage = faultRepository.findAll(pageable);
+        feedCache.cacheFaults(faultPage.getContent());
+        return FeedPage.ofOffset(
+          idsOf(faultPage.getContent()),
+          faultPage.getTotalPages()
+        );
+      }
+    );
 
     PaginatedResponse<FaultResponse> response = new PaginatedResponse<>(
-      faultResponses,
-      faultPage.getTotalPages()
+      toResponses(feedPage.getIds(), userId, feedPage.getPageCount()),
+      feedPage.getPageCount()
     );
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * Keyset variant of {@link #getFaults}: newest first, no OFFSET scan and no
+   * COUNT query. An empty cursor starts from the newest fault.
+   */
+  private ResponseEntity<PaginatedResponse<FaultResponse>> getFaultsByCursor(
+    Long userId,
+    String cursor,
+    int limit
+  ) {
+    int pageSize = Math.max(1, limit);
+    FeedCursor after = null;
+    if (!cursor.isEmpty()) {
+      try {
+        after = FeedCursor.decode(cursor);
+      } catch (IllegalArgumentException e) {
+        return ResponseEntity.badRequest().build();
+      }
+      if (after.getCreatedAt() == null) {
+        return ResponseEntity.badRequest().build();
+      }
+    }
+
+    FeedCursor start = after;
+    FeedPage feedPage = feedCache.faultPage(
+      "cursor:" + cursor + ":" + pageSize,
+      () -> {
+        List<Fault> faults = start == null
+          ? faultRepository.findFirstKeysetPage(pageSize + 1)
+          : faultRepository.findKeysetPageAfter(
+            start.getCreatedAt(),
+            start.getId(),
+            pageSize + 1
+          );
+
+        String nextCursor = null;
+        if (faults.size() > pageSize) {
+          faults = faults.subList(0, pageSize);
+          Fault last = faults.get(pageSize - 1);
+          nextCursor = FeedCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        feedCache.cacheFaults(faults);
+        return FeedPage.ofCursor(idsOf(faults), nextCursor);
+      }
+    );
+
+    return ResponseEntity.ok(
+      new PaginatedResponse<>(
+        toResponses(feedPage.getIds(), userId, 0),
+        feedPage.getNextCursor()
+      )
+    );
+  }
+
   @GetMapping("/{id}")
-  @Transactional(readOnly = true)
+  @QueryBudget(2)
   public ResponseEntity<FaultResponse> getFault(
     HttpServletRequest request,
     @PathVariable Long id
   ) {
-    User user = getUserFromRequest(request);
-    return faultRepository
-      .findById(id)
-      .map(fault -> convertToDto(fault, user, 1)) // For single fault, totalPages is 1
-      .map(ResponseEntity::ok)
-      .orElse(ResponseEntity.notFound().build());
+    Long userId = AuthenticatedUser.userIdOf(request);
+    // For single fault, totalPages is 1
+    List<FaultResponse> responses = toResponses(List.of(id), userId, 1);
+    if (responses.isEmpty()) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(responses.get(0));
   }
 
   @DeleteMapping("/{id}")
+  @QueryBudget(7)
   public ResponseEntity<?> deleteFault(
     HttpServletRequest request,
     @PathVariable Long id
   ) {
-    String token = request.getHeader("Authorization");
-    if (token == null || !token.startsWith("Bearer ")) {
+    AuthenticatedUser caller = AuthenticatedUser.from(request);
+    if (caller == null) {
       return ResponseEntity
         .status(401)
         .body("Unauthorized: Missing or invalid token");
     }
-    token = token.substring(7).trim(); // Remove "Bearer " prefix and trim whitespace
-    jwtUtil.validateJwt(token);
+    String username = caller.getUsername();
 
-    String username = userValidationService.getUsernameFromToken(token);
-
-    Optional<Fault> optionalFault = faultRepository.findById(id);
+    Optional<Fault> optionalFault = faultRepository.findWithLeadersById(id);
     if (optionalFault.isPresent()) {
       Fault fault = optionalFault.get();
 
@@ -253,22 +316,17 @@ public class FaultController {
           .body("Forbidden: You are not the creator of this fault");
       }
 
-      // Decrement the number of faults for each associated leader
-      List<Leader> leaders = fault.getLeaders();
-      if (leaders != null && !leaders.isEmpty()) {
-        for (Leader leader : leaders) {
-          leader.setNumberOfFaults(Math.max(0, leader.getNumberOfFaults() - 1));
-        }
-        leaderRepository.saveAll(leaders);
-      }
-
-      faultRepository.delete(fault);
+      // Removes its votes and decrements its leaders' fault counts too
+      List<Long> leaderIds = leaderIdsOf(fault);
+      faultService.deleteFault(fault);
+      feedCache.faultAddedOrRemoved(fault.getId(), leaderIds);
       return ResponseEntity.ok().body("Fault deleted successfully");
     }
     return ResponseEntity.notFound().build();
   }
 
   @PostMapping("/{id}/like")
+  @QueryBudget(12)
   public ResponseEntity<?> likeFault(
     HttpServletRequest request,
     @PathVariable Long id
@@ -277,6 +335,7 @@ public class FaultController {
   }
 
   @PostMapping("/{id}/dislike")
+  @QueryBudget(12)
   public ResponseEntity<?> dislikeFault(
     HttpServletRequest request,
     @PathVariable Long id
@@ -289,102 +348,34 @@ public class FaultController {
     Long id,
     boolean isLike
   ) {
-    String token = request.getHeader("Authorization");
-    if (token == null || !token.startsWith("Bearer ")) {
+    AuthenticatedUser caller = AuthenticatedUser.from(request);
+    if (caller == null) {
       return ResponseEntity.status(401).body("Unauthorized");
     }
-    token = token.substring(7).trim(); // Remove "Bearer " prefix and trim whitespace
-    jwtUtil.validateJwt(token);
-
-    String username = userValidationService.getUsernameFromToken(token);
-    Optional<User> userOptional = userRepository.findByUsername(username);
-    if (userOptional.isEmpty()) {
+    if (caller.getUserId() == null) {
       return ResponseEntity.status(401).body("User not found");
     }
-    User user = userOptional.get();
+    String username = caller.getUsername();
 
-    Optional<Fault> optionalFault = faultRepository.findById(id);
+    if (!faultRepository.existsById(id)) {
+      return ResponseEntity.notFound().build();
+    }
+    // The owner's notification is queued in the vote's transaction
+    VoteTransition transition = faultVoteService.toggleVoteAndNotify(
+      id,
+      caller.getUserId(),
+      username,
+      isLike ? FaultVote.LIKE : FaultVote.DISLIKE
+    );
+    if (transition != VoteTransition.UNCHANGED) {
+      feedCache.faultVoted(id);
+    }
+
+    // Re-read after the vote so the response carries the committed counters
+    Optional<Fault> optionalFault = faultRepository.findWithLeadersById(id);
     if (optionalFault.isPresent()) {
       Fault fault = optionalFault.get();
-      List<User> likedBy = fault.getLikedBy();
-      List<User> dislikedBy = fault.getDislikedBy();
-
-      boolean shouldNotify = false;
-      NotificationType notificationType = null;
-
-      if (isLike) {
-        if (likedBy.contains(user)) {
-          likedBy.remove(user); // Unlike if already liked
-        } else {
-          likedBy.add(user);
-          dislikedBy.remove(user); // Remove from dislikes if present
-          shouldNotify = true;
-          notificationType = NotificationType.FAULT_LIKED;
-        }
-      } else {
-        if (dislikedBy.contains(user)) {
-          dislikedBy.remove(user); // Undislike if already disliked
-        } else {
-          dislikedBy.add(user);
-          likedBy.remove(user); // Remove from likes if present
-          shouldNotify = true;
-          notificationType = NotificationType.FAULT_DISLIKED;
-        }
-      }
-
-      faultRepository.save(fault);
-
-      // Send notification only if user is not the fault owner (no self-notifications)
-      if (shouldNotify && !fault.getUploadedBy().equals(username)) {
-        logger.info(
-          "🚀 Notification triggered - User '{}' {} fault '{}' (ID: {}) owned by '{}'",
-          username,
-          isLike ? "liked" : "disliked",
-          fault.getTitle(),
-          fault.getId(),
-          fault.getUploadedBy()
-        );
-
-        // Get fault owner user ID
-        Optional<User> faultOwnerOptional = userRepository.findByUsername(
-          fault.getUploadedBy()
-        );
-        if (faultOwnerOptional.isPresent()) {
-          User faultOwner = faultOwnerOptional.get();
-
-          NotificationEvent event = new NotificationEvent(
-            notificationType,
-            fault.getId(),
-            fault.getTitle(),
-            fault.getUploadedBy(),
-            faultOwner.getId(),
-            username,
-            LocalDateTime.now()
-          );
-
-          try {
-            kafkaProducerService.sendNotification(event);
-          } catch (Exception ex) {
-            logger.error(
-              "❌ Failed to send notification event (ignored): {}",
-              ex.toString()
-            );
-          }
-        } else {
-          logger.warn(
-            "⚠️ Fault owner '{}' not found in database, notification not sent",
-            fault.getUploadedBy()
-          );
-        }
-      } else if (shouldNotify) {
-        logger.debug(
-          "🔇 Skipping self-notification - User '{}' {} their own fault",
-          username,
-          isLike ? "liked" : "disliked"
-        );
-      }
-
-      return ResponseEntity.ok(convertToDto(fault, user, 1)); // For single fault, totalPages is 1
+      return ResponseEntity.ok(toSingleResponse(fault, caller.getUserId()));
     }
     return ResponseEntity.notFound().build();
   }
@@ -403,74 +394,47 @@ public class FaultController {
   //   return false;
   // }
 
-  private User getUserFromRequest(HttpServletRequest request) {
-    String token = request.getHeader("Authorization");
-    if (token != null && token.startsWith("Bearer ")) {
-      token = token.substring(7).trim(); // Remove "Bearer " prefix and trim whitespace
-      if (userValidationService.isValidToken(token)) {
-        String username = userValidationService.getUsernameFromToken(token);
-        return userRepository.findByUsername(username).orElse(null);
-      }
-    }
-    return null;
-  }
-
-  private FaultResponse convertToDto(Fault fault, User user, int totalPages) {
-    FaultResponse faultResponse = new FaultResponse();
-    faultResponse.setId(fault.getId());
-    faultResponse.setTitle(fault.getTitle());
-    faultResponse.setDescription(fault.getDescription());
-    faultResponse.setImageUrl(fault.getImageUrl());
-    faultResponse.setUploadedBy(fault.getUploadedBy());
-    faultResponse.setTotalPages(totalPages);
-
-    if (fault.getLeaders() != null) {
-      faultResponse.setLeaders(
-        fault
-          .getLeaders()
-          .stream()
-          .map(this::convertLeaderToDto)
-          .collect(Collectors.toList())
+  /**
+   * Builds responses from the feed cache and overlays the caller's vote
+   * status; anonymous callers need no query at all.
+   */
+  private List<FaultResponse> toResponses(
+    List<Long> faultIds,
+    Long userId,
+    int totalPages
+  ) {
+    List<FaultResponse> responses = feedCache.getFaults(faultIds);
+    Map<Long, String> voteStatuses = userId != null
+      ? voteStatusResolver.resolveFaultVotes(userId, faultIds)
+      : Map.of();
+    for (FaultResponse response : responses) {
+      response.setVoteStatus(
+        voteStatuses.getOrDefault(response.getId(), "none")
       );
+      response.setTotalPages(totalPages);
     }
+    return responses;
+  }
 
-    int likes = fault.getLikedBy().size();
-    int dislikes = fault.getDislikedBy().size();
-    faultResponse.setLikes(likes);
-    faultResponse.setDislikes(dislikes);
-
-    if (likes + dislikes > 0) {
-      faultResponse.setPercentageLiked(
-        (double) likes / (likes + dislikes) * 100
-      );
-    } else {
-      faultResponse.setPercentageLiked(0);
-    }
+  private static List<Long> idsOf(List<Fault> faults) {
+    return faults.stream().map(Fault::getId).collect(Collectors.toList());
+  }
 
-    if (user != null) {
-      if (fault.getLikedBy().contains(user)) {
-        faultResponse.setVoteStatus("liked");
-      } else if (fault.getDislikedBy().contains(user)) {
-        faultResponse.setVoteStatus("disliked");
-      } else {
-        faultResponse.setVoteStatus("none");
-      }
-    } else {
-      faultResponse.setVoteStatus("none");
+  private static List<Long> leaderIdsOf(Fault fault) {
+    if (fault.getLeaders() == null) {
+      return List.of();
     }
-
-    return faultResponse;
+    return fault
+      .getLeaders()
+      .stream()
+      .map(Leader::getId)
+      .collect(Collectors.toList());
   }
 
-  private LeaderResponse convertLeaderToDto(Leader leader) {
-    LeaderResponse leaderResponse = new LeaderResponse();
-    leaderResponse.setId(leader.getId());
-    leaderResponse.setName(leader.getName());
-    leaderResponse.setDescription(leader.getDescription());
-    leaderResponse.setImageUrl(leader.getImageUrl());
-    leaderResponse.setLikes(leader.getLikes());
-    leaderResponse.setDislikes(leader.getDislikes());
-    leaderResponse.setNumberOfFaults(leader.getNumberOfFaults());
-    return leaderResponse;
+  private FaultResponse toSingleResponse(Fault fault, Long userId) {
+    String voteStatus = voteStatusResolver
+      .resolveFaultVotes(userId, List.of(fault.getId()))
+      .get(fault.getId());
+    return FaultResponse.fromFault(fault, voteStatus, 1); // For single fault, totalPages is 1
   }
 }
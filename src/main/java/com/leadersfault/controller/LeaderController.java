@@ -1,27 +1,35 @@
 package com.leadersfault.controller;
 
+import com.leadersfault.config.QueryBudget;
 import com.leadersfault.dto.FaultRequest;
 import com.leadersfault.dto.FaultResponse;
+import com.leadersfault.dto.FeedCursor;
 import com.leadersfault.dto.LeaderRequest;
 import com.leadersfault.dto.LeaderResponse;
 import com.leadersfault.dto.PaginatedResponse;
 import com.leadersfault.entity.Fault;
 import com.leadersfault.entity.Leader;
-import com.leadersfault.entity.User;
+import com.leadersfault.entity.LeaderVote;
 import com.leadersfault.repository.FaultRepository;
 import com.leadersfault.repository.LeaderRepository;
-import com.leadersfault.repository.UserRepository;
-import com.leadersfault.security.JwtUtil;
+import com.leadersfault.security.AuthenticatedUser;
 import com.leadersfault.service.CloudinaryService;
-import com.leadersfault.service.UserValidationService;
+import com.leadersfault.service.FaultService;
+import com.leadersfault.service.FeedCache;
+import com.leadersfault.service.FeedPage;
+import com.leadersfault.service.LeaderVoteService;
+import com.leadersfault.service.VoteStatusResolver;
+import com.leadersfault.service.VoteTransition;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -38,44 +46,92 @@ public class LeaderController {
   private FaultRepository faultRepository;
 
   @Autowired
-  private UserValidationService userValidationService;
+  private CloudinaryService cloudinaryService;
 
   @Autowired
-  private UserRepository userRepository;
+  private LeaderVoteService leaderVoteService;
 
   @Autowired
-  private CloudinaryService cloudinaryService;
+  private VoteStatusResolver voteStatusResolver;
+
+  @Autowired
+  private FeedCache feedCache;
 
   @Autowired
-  private JwtUtil jwtUtil;
+  private FaultService faultService;
 
   @GetMapping
-  @Transactional(readOnly = true)
+  @QueryBudget(3)
   public ResponseEntity<PaginatedResponse<LeaderResponse>> getAllLeaders(
     HttpServletRequest request,
     @RequestParam(defaultValue = "0") int page,
-    @RequestParam(defaultValue = "10") int limit
+    @RequestParam(defaultValue = "10") int limit,
+    @RequestParam(required = false) String cursor
   ) {
-    Pageable pageable = PageRequest.of(page, limit);
-    Page<Leader> leaderPage = leaderRepository.findAll(pageable);
-
     // If token is invalid or not provided, userId will be null
     // If token is valid, userId will be the ID of the user
-    Long userId = isValidToken(request) ? getUserIdFromToken(request) : null;
+    Long userId = AuthenticatedUser.userIdOf(request);
+
+    if (cursor != null) {
+      // Keyset mode: ascending id, no OFFSET scan and no COUNT query
+      int pageSize = Math.max(1, limit);
+      long afterId = 0;
+      if (!cursor.isEmpty()) {
+        try {
+          afterId = FeedCursor.decode(cursor).getId();
+        } catch (IllegalArgumentException e) {
+          return ResponseEntity.badRequest().build();
+        }
+      }
 
-    List<LeaderResponse> leaderResponses = leaderPage
-      .stream()
-      .map(leader -> LeaderResponse.fromLeader(leader, userId))
-      .collect(Collectors.toList());
+      long start = afterId;
+      FeedPage feedPage = feedCache.leaderPage(
+        "cursor:" + start + ":" + pageSize,
+        () -> {
+          List<Leader> leaders = leaderRepository.findByIdGreaterThanOrderByIdAsc(
+            start,
+            PageRequest.of(0, pageSize + 1)
+          );
+
+          String nextCursor = null;
+          if (leaders.size() > pageSize) {
+            leaders = leaders.subList(0, pageSize);
+            nextCursor = FeedCursor.encode(leaders.get(pageSize - 1).getId());
+          }
+          feedCache.cacheLeaders(leaders);
+          return FeedPage.ofCursor(idsOf(leaders), nextCursor);
+        }
+      );
+      return ResponseEntity.ok(
+        new PaginatedResponse<>(
+          toCachedLeaderResponses(feedPage.getIds(), userId),
+          feedPage.getNextCursor()
+        )
+      );
+    }
+
+    FeedPage feedPage = feedCache.leaderPage(
+      "page:" + page + ":" + limit,
+      () -> {
+        Pageable pageable = PageRequest.of(page, limit, Sort.by("id"));
+        Page<Leader> leaderPage = leaderRepository.findAll(pageable);
+        feedCache.cacheLeaders(leaderPage.getContent());
+        return FeedPage.ofOffset(
+          idsOf(leaderPage.getContent()),
+          leaderPage.getTotalPages()
+        );
+      }
+    );
 
     PaginatedResponse<LeaderResponse> response = new PaginatedResponse<>(
-      leaderResponses,
-      leaderPage.getTotalPages()
+      toCachedLeaderResponses(feedPage.getIds(), userId),
+      feedPage.getPageCount()
     );
     return ResponseEntity.ok(response);
   }
 
   @PostMapping
+  @QueryBudget(1)
   public ResponseEntity<?> createLeader(
     HttpServletRequest request,
     @RequestPart("name") String name,
@@ -83,12 +139,9 @@ public class LeaderController {
     @RequestPart("image") MultipartFile imageFile
   ) {
     try {
-      String token = request.getHeader("Authorization");
-      if (token == null || !token.startsWith("Bearer ")) {
+      if (AuthenticatedUser.from(request) == null) {
         return ResponseEntity.status(401).body("Unauthorized");
       }
-      token = token.substring(7).trim(); // Remove "Bearer " prefix and trim whitespace
-      jwtUtil.validateJwt(token);
       // Upload image to Cloudinary
       String imageUrl = cloudinaryService.uploadFile(imageFile);
 
@@ -98,7 +151,9 @@ public class LeaderController {
       leader.setDescription(description);
       leader.setImageUrl(imageUrl);
 
-      return ResponseEntity.ok(leaderRepository.save(leader));
+      Leader saved = leaderRepository.save(leader);
+      feedCache.leaderAdded();
+      return ResponseEntity.ok(saved);
     } catch (Exception e) {
       return ResponseEntity
         .status(500)
@@ -107,173 +162,192 @@ public class LeaderController {
   }
 
   @GetMapping("/{id}")
-  @Transactional(readOnly = true)
+  @QueryBudget(2)
   public ResponseEntity<LeaderResponse> getLeaderById(
     HttpServletRequest request,
     @PathVariable Long id
   ) {
-    Optional<Leader> optionalLeader = leaderRepository.findById(id);
-
-    if (optionalLeader.isPresent()) {
-      Leader leader = optionalLeader.get();
-
-      // If token is invalid or not provided, userId will be null
-      // If token is valid, userId will be the ID of the user
-      Long userId = isValidToken(request) ? getUserIdFromToken(request) : null;
+    // If token is invalid or not provided, userId will be null
+    // If token is valid, userId will be the ID of the user
+    Long userId = AuthenticatedUser.userIdOf(request);
 
-      LeaderResponse leaderResponse = LeaderResponse.fromLeader(leader, userId);
-      return ResponseEntity.ok(leaderResponse);
+    List<LeaderResponse> responses = toCachedLeaderResponses(List.of(id), userId);
+    if (responses.isEmpty()) {
+      return ResponseEntity.notFound().build();
     }
-
-    return ResponseEntity.notFound().build();
+    return ResponseEntity.ok(responses.get(0));
   }
 
   @GetMapping("/{id}/faults")
+  @QueryBudget(5)
   @Transactional(readOnly = true)
   public ResponseEntity<PaginatedResponse<FaultResponse>> getFaultsByLeader(
     HttpServletRequest request,
     @PathVariable Long id,
     @RequestParam(defaultValue = "0") int page,
-    @RequestParam(defaultValue = "10") int limit
+    @RequestParam(defaultValue = "10") int limit,
+    @RequestParam(required = false) String cursor
   ) {
-    User user = getUserFromRequest(request);
+    Long userId = AuthenticatedUser.userIdOf(request);
     Optional<Leader> optionalLeader = leaderRepository.findById(id);
     if (optionalLeader.isEmpty()) {
       return ResponseEntity.notFound().build();
     }
-    Pageable pageable = PageRequest.of(page, limit);
-    Page<Fault> faultPage = faultRepository.findByLeadersContaining(
-      optionalLeader.get(),
-      pageable
+
+    if (cursor != null) {
+      // Keyset mode: newest first, same ordering as the main fault feed
+      int pageSize = Math.max(1, limit);
+      List<Fault> faults;
+      if (cursor.isEmpty()) {
+        faults = faultRepository.findFirstKeysetPageByLeader(id, pageSize + 1);
+      } else {
+        FeedCursor after;
+        try {
+          after = FeedCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+          return ResponseEntity.badRequest().build();
+        }
+        if (after.getCreatedAt() == null) {
+          return ResponseEntity.badRequest().build();
+        }
+        faults =
+          faultRepository.findKeysetPageByLeaderAfter(
+            id,
+            after.getCreatedAt(),
+            after.getId(),
+            pageSize + 1
+          );
+      }
+
+      String nextCursor = null;
+      if (faults.size() > pageSize) {
+        faults = faults.subList(0, pageSize);
+        Fault last = faults.get(pageSize - 1);
+        nextCursor = FeedCursor.encode(last.getCreatedAt(), last.getId());
+      }
+      return ResponseEntity.ok(
+        new PaginatedResponse<>(toFaultResponses(faults, userId, 0), nextCursor)
+      );
+    }
+
+    Pageable pageable = PageRequest.of(
+      page,
+      limit,
+      Sort.by(Sort.Direction.DESC, "createdAt", "id")
     );
-    List<FaultResponse> faultResponses = faultPage
-      .stream()
-      .map(fault -> convertToDto(fault, user, faultPage.getTotalPages()))
-      .collect(Collectors.toList());
+    Page<Fault> faultPage = faultRepository.findPageByLeaderId(id, pageable);
 
     PaginatedResponse<FaultResponse> response = new PaginatedResponse<>(
-      faultResponses,
+      toFaultResponses(
+        faultPage.getContent(),
+        userId,
+        faultPage.getTotalPages()
+      ),
       faultPage.getTotalPages()
     );
     return ResponseEntity.ok(response);
   }
 
   @PostMapping("/{id}/like")
+  @QueryBudget(5)
   public ResponseEntity<LeaderResponse> likeLeader(
     HttpServletRequest request,
     @PathVariable Long id
   ) {
-    String token = request.getHeader("Authorization");
-    if (token == null || !token.startsWith("Bearer ")) {
-      return ResponseEntity.status(401).build();
-    }
-    token = token.substring(7).trim(); // Remove "Bearer " prefix and trim whitespace
-    jwtUtil.validateJwt(token);
-    Long userId = getUserIdFromToken(request);
+    Long userId = AuthenticatedUser.userIdOf(request);
     if (userId == null) {
       return ResponseEntity.status(401).build();
     }
 
-    Optional<Leader> optionalLeader = leaderRepository.findById(id);
-    if (optionalLeader.isPresent()) {
-      Leader leader = optionalLeader.get();
-
-      // Check if user has already liked this leader
-      if (leader.getLikedByUsers().contains(userId)) {
-        return ResponseEntity.badRequest().build();
-      }
-
-      // If user has previously disliked this leader, remove from dislikes
-      if (leader.getDislikedByUsers().contains(userId)) {
-        leader.setDislikes(leader.getDislikes() - 1);
-        leader.getDislikedByUsers().remove(userId);
-      }
-
-      // Add user to likes and increment count
-      leader.getLikedByUsers().add(userId);
-      leader.setLikes(leader.getLikes() + 1);
+    if (!leaderRepository.existsById(id)) {
+      return ResponseEntity.notFound().build();
+    }
 
-      Leader updatedLeader = leaderRepository.save(leader);
-      return ResponseEntity.ok(
-        LeaderResponse.fromLeader(updatedLeader, userId)
-      );
+    VoteTransition transition = leaderVoteService.vote(
+      id,
+      userId,
+      LeaderVote.LIKE
+    );
+    // Check if user has already liked this leader
+    if (transition == VoteTransition.UNCHANGED) {
+      return ResponseEntity.badRequest().build();
     }
-    return ResponseEntity.notFound().build();
+    feedCache.leaderVoted(id);
+
+    return leaderRepository
+      .findById(id)
+      .map(updatedLeader ->
+        ResponseEntity.ok(LeaderResponse.fromLeader(updatedLeader, "LIKED"))
+      )
+      .orElse(ResponseEntity.notFound().build());
   }
 
   @PostMapping("/{id}/dislike")
+  @QueryBudget(5)
   public ResponseEntity<LeaderResponse> dislikeLeader(
     HttpServletRequest request,
     @PathVariable Long id
   ) {
-    String token = request.getHeader("Authorization");
-    if (token == null || !token.startsWith("Bearer ")) {
-      return ResponseEntity.status(401).build();
-    }
-    token = token.substring(7).trim(); // Remove "Bearer " prefix and trim whitespace
-    jwtUtil.validateJwt(token);
-    Long userId = getUserIdFromToken(request);
+    Long userId = AuthenticatedUser.userIdOf(request);
     if (userId == null) {
       return ResponseEntity.status(401).build();
     }
 
-    Optional<Leader> optionalLeader = leaderRepository.findById(id);
-    if (optionalLeader.isPresent()) {
-      Leader leader = optionalLeader.get();
-
-      // Check if user has already disliked this leader
-      if (leader.getDislikedByUsers().contains(userId)) {
-        return ResponseEntity.badRequest().build();
-      }
-
-      // If user has previously liked this leader, remove from likes
-      if (leader.getLikedByUsers().contains(userId)) {
-        leader.setLikes(leader.getLikes() - 1);
-        leader.getLikedByUsers().remove(userId);
-      }
-
-      // Add user to dislikes and increment count
-      leader.getDislikedByUsers().add(userId);
-      leader.setDislikes(leader.getDislikes() + 1);
+    if (!leaderRepository.existsById(id)) {
+      return ResponseEntity.notFound().build();
+    }
 
-      Leader updatedLeader = leaderRepository.save(leader);
-      return ResponseEntity.ok(
-        LeaderResponse.fromLeader(updatedLeader, userId)
-      );
+    VoteTransition transition = leaderVoteService.vote(
+      id,
+      userId,
+      LeaderVote.DISLIKE
+    );
+    // Check if user has already disliked this leader
+    if (transition == VoteTransition.UNCHANGED) {
+      return ResponseEntity.badRequest().build();
     }
-    return ResponseEntity.notFound().build();
+    feedCache.leaderVoted(id);
+
+    return leaderRepository
+      .findById(id)
+      .map(updatedLeader ->
+        ResponseEntity.ok(LeaderResponse.fromLeader(updatedLeader, "DISLIKED"))
+      )
+      .orElse(ResponseEntity.notFound().build());
   }
 
   @PostMapping("/{id}/faults")
+  @QueryBudget(4)
   public ResponseEntity<?> addFaultToLeader(
     HttpServletRequest request,
     @PathVariable Long id,
     @RequestBody Fault fault
   ) {
-    if (!isValidToken(request)) {
+    if (AuthenticatedUser.from(request) == null) {
       return ResponseEntity.status(401).body("Unauthorized");
     }
 
     Optional<Leader> optionalLeader = leaderRepository.findById(id);
     if (optionalLeader.isPresent()) {
       Leader leader = optionalLeader.get();
+      // Fault owns the association; the lazy inverse side stays untouched
       fault.getLeaders().add(leader);
-      leader.getFaults().add(fault);
-      leader.setNumberOfFaults(leader.getNumberOfFaults() + 1);
-      leaderRepository.save(leader);
-      return ResponseEntity.ok(faultRepository.save(fault));
+      Fault saved = faultService.createFault(fault);
+      feedCache.faultAddedOrRemoved(saved.getId(), List.of(id));
+      return ResponseEntity.ok(saved);
     }
     return ResponseEntity.notFound().build();
   }
 
   @PostMapping("/{id}/faults/upload")
+  @QueryBudget(4)
   public ResponseEntity<?> addFaultToLeaderWithImage(
     HttpServletRequest request,
     @PathVariable Long id,
     @RequestPart("fault") FaultRequest faultRequest,
     @RequestPart("image") MultipartFile imageFile
   ) {
-    if (!isValidToken(request)) {
+    if (AuthenticatedUser.from(request) == null) {
       return ResponseEntity.status(401).body("Unauthorized");
     }
 
@@ -291,10 +365,9 @@ public class LeaderController {
         fault.setImageUrl(imageUrl);
 
         fault.getLeaders().add(leader);
-        leader.getFaults().add(fault);
-        leader.setNumberOfFaults(leader.getNumberOfFaults() + 1);
-        leaderRepository.save(leader);
-        return ResponseEntity.ok(faultRepository.save(fault));
+        Fault saved = faultService.createFault(fault);
+        feedCache.faultAddedOrRemoved(saved.getId(), List.of(id));
+        return ResponseEntity.ok(saved);
       }
       return ResponseEntity.notFound().build();
     } catch (Exception e) {
@@ -307,6 +380,7 @@ public class LeaderController {
   ///search leaders by string
   //search?query=string
   @GetMapping("/search")
+  @QueryBudget(2)
   public ResponseEntity<List<LeaderResponse>> searchLeaders(
     HttpServletRequest request,
     @RequestParam String query
@@ -315,108 +389,70 @@ public class LeaderController {
       query
     );
 
-    Long userId = isValidToken(request) ? getUserIdFromToken(request) : null;
-
-    List<LeaderResponse> leaderResponses = leaders
-      .stream()
-      .map(leader -> LeaderResponse.fromLeader(leader, userId))
-      .collect(Collectors.toList());
-
-    return ResponseEntity.ok(leaderResponses);
-  }
+    Long userId = AuthenticatedUser.userIdOf(request);
 
-  private Long getUserIdFromToken(HttpServletRequest request) {
-    String token = request.getHeader("Authorization");
-    if (token != null && token.startsWith("Bearer ")) {
-      token = token.substring(7).trim(); // Remove "Bearer " prefix and trim whitespace
-      String username = userValidationService.getUsernameFromToken(token);
-      if (username != null) {
-        Optional<User> userOptional = userRepository.findByUsername(username);
-        if (userOptional.isPresent()) {
-          return userOptional.get().getId();
-        }
-      }
-    }
-    return null;
-  }
-
-  private boolean isValidToken(HttpServletRequest request) {
-    String token = request.getHeader("Authorization");
-    if (token != null && token.startsWith("Bearer ")) {
-      token = token.substring(7).trim(); // Remove "Bearer " prefix and trim whitespace
-      return userValidationService.isValidToken(token);
-    }
-    return false;
+    return ResponseEntity.ok(toLeaderResponses(leaders, userId));
   }
 
-  private User getUserFromRequest(HttpServletRequest request) {
-    String token = request.getHeader("Authorization");
-    if (token != null && token.startsWith("Bearer ")) {
-      token = token.substring(7).trim(); // Remove "Bearer " prefix and trim whitespace
-      if (userValidationService.isValidToken(token)) {
-        String username = userValidationService.getUsernameFromToken(token);
-        return userRepository.findByUsername(username).orElse(null);
-      }
-    }
-    return null;
+  private List<LeaderResponse> toLeaderResponses(
+    List<Leader> leaders,
+    Long userId
+  ) {
+    Map<Long, String> voteStatuses = voteStatusResolver.resolveLeaderVotes(
+      userId,
+      leaders.stream().map(Leader::getId).collect(Collectors.toList())
+    );
+    return leaders
+      .stream()
+      .map(leader ->
+        LeaderResponse.fromLeader(leader, voteStatuses.get(leader.getId()))
+      )
+      .collect(Collectors.toList());
   }
 
-  private FaultResponse convertToDto(Fault fault, User user, int totalPages) {
-    FaultResponse faultResponse = new FaultResponse();
-    faultResponse.setId(fault.getId());
-    faultResponse.setTitle(fault.getTitle());
-    faultResponse.setDescription(fault.getDescription());
-    faultResponse.setImageUrl(fault.getImageUrl());
-    faultResponse.setUploadedBy(fault.getUploadedBy());
-    faultResponse.setTotalPages(totalPages);
-
-    if (fault.getLeaders() != null) {
-      faultResponse.setLeaders(
-        fault
-          .getLeaders()
-          .stream()
-          .map(this::convertLeaderToDto)
-          .collect(Collectors.toList())
+  /**
+   * Builds responses from the feed cache and overlays the caller's vote
+   * status; anonymous callers need no query at all.
+   */
+  private List<LeaderResponse> toCachedLeaderResponses(
+    List<Long> leaderIds,
+    Long userId
+  ) {
+    List<LeaderResponse> responses = feedCache.getLeaders(leaderIds);
+    if (userId != null) {
+      Map<Long, String> voteStatuses = voteStatusResolver.resolveLeaderVotes(
+        userId,
+        leaderIds
       );
-    }
-
-    int likes = fault.getLikedBy().size();
-    int dislikes = fault.getDislikedBy().size();
-    faultResponse.setLikes(likes);
-    faultResponse.setDislikes(dislikes);
-
-    if (likes + dislikes > 0) {
-      faultResponse.setPercentageLiked(
-        (double) likes / (likes + dislikes) * 100
+      responses.forEach(response ->
+        response.setVoteStatus(voteStatuses.get(response.getId()))
       );
-    } else {
-      faultResponse.setPercentageLiked(0);
-    }
-
-    if (user != null) {
-      if (fault.getLikedBy().contains(user)) {
-        faultResponse.setVoteStatus("liked");
-      } else if (fault.getDislikedBy().contains(user)) {
-        faultResponse.setVoteStatus("disliked");
-      } else {
-        faultResponse.setVoteStatus("none");
-      }
-    } else {
-      faultResponse.setVoteStatus("none");
     }
+    return responses;
+  }
 
-    return faultResponse;
+  private static List<Long> idsOf(List<Leader> leaders) {
+    return leaders.stream().map(Leader::getId).collect(Collectors.toList());
   }
 
-  private LeaderResponse convertLeaderToDto(Leader leader) {
-    LeaderResponse leaderResponse = new LeaderResponse();
-    leaderResponse.setId(leader.getId());
-    leaderResponse.setName(leader.getName());
-    leaderResponse.setDescription(leader.getDescription());
-    leaderResponse.setImageUrl(leader.getImageUrl());
-    leaderResponse.setLikes(leader.getLikes());
-    leaderResponse.setDislikes(leader.getDislikes());
-    leaderResponse.setNumberOfFaults(leader.getNumberOfFaults());
-    return leaderResponse;
+  private List<FaultResponse> toFaultResponses(
+    List<Fault> faults,
+    Long userId,
+    int totalPages
+  ) {
+    Map<Long, String> voteStatuses = voteStatusResolver.resolveFaultVotes(
+      userId,
+      faults.stream().map(Fault::getId).collect(Collectors.toList())
+    );
+    return faults
+      .stream()
+      .map(fault ->
+        FaultResponse.fromFault(
+          fault,
+          voteStatuses.get(fault.getId()),
+          totalPages
+        )
+      )
+      .collect(Collectors.toList());
   }
 }
@@ -1,13 +1,12 @@
 package com.leadersfault.controller;
 
+import com.leadersfault.config.QueryBudget;
 import com.leadersfault.dto.NotificationResponse;
 import com.leadersfault.dto.PaginatedResponse;
 import com.leadersfault.entity.Notification;
-import com.leadersfault.entity.User;
 import com.leadersfault.repository.NotificationRepository;
-import com.leadersfault.repository.UserRepository;
-import com.leadersfault.security.JwtUtil;
-import com.leadersfault.service.UserValidationService;
+import com.leadersfault.security.AuthenticatedUser;
+import com.leadersfault.service.NotificationService;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.HashMap;
 import java.util.List;
@@ -29,23 +28,18 @@ public class NotificationController {
   private NotificationRepository notificationRepository;
 
   @Autowired
-  private UserRepository userRepository;
-
-  @Autowired
-  private UserValidationService userValidationService;
-
-  @Autowired
-  private JwtUtil jwtUtil;
+  private NotificationService notificationService;
 
   @GetMapping
+  @QueryBudget(2)
   public ResponseEntity<?> getNotifications(
     HttpServletRequest request,
     @RequestParam(defaultValue = "0") int page,
     @RequestParam(defaultValue = "10") int limit,
     @RequestParam(required = false) String filter
   ) {
-    User user = getUserFromRequest(request);
-    if (user == null) {
+    Long userId = AuthenticatedUser.userIdOf(request);
+    if (userId == null) {
       return ResponseEntity.status(401).body("Unauthorized");
     }
 
@@ -55,19 +49,19 @@ public class NotificationController {
     if ("unread".equalsIgnoreCase(filter)) {
       notificationPage =
         notificationRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(
-          user.getId(),
+          userId,
           pageable
         );
     } else if ("read".equalsIgnoreCase(filter)) {
       notificationPage =
         notificationRepository.findByUserIdAndIsReadTrueOrderByCreatedAtDesc(
-          user.getId(),
+          userId,
           pageable
         );
     } else {
       notificationPage =
         notificationRepository.findByUserIdOrderByCreatedAtDesc(
-          user.getId(),
+          userId,
           pageable
         );
     }
@@ -85,14 +79,15 @@ public class NotificationController {
   }
 
   @GetMapping("/unread-count")
+  @QueryBudget(1)
   public ResponseEntity<?> getUnreadCount(HttpServletRequest request) {
-    User user = getUserFromRequest(request);
-    if (user == null) {
+    Long userId = AuthenticatedUser.userIdOf(request);
+    if (userId == null) {
       return ResponseEntity.status(401).body("Unauthorized");
     }
 
     long unreadCount = notificationRepository.countByUserIdAndIsReadFalse(
-      user.getId()
+      userId
     );
     Map<String, Long> response = new HashMap<>();
     response.put("unreadCount", unreadCount);
@@ -100,12 +95,13 @@ public class NotificationController {
   }
 
   @PutMapping("/{id}/read")
+  @QueryBudget(3)
   public ResponseEntity<?> markAsRead(
     HttpServletRequest request,
     @PathVariable Long id
   ) {
-    User user = getUserFromRequest(request);
-    if (user == null) {
+    Long userId = AuthenticatedUser.userIdOf(request);
+    if (userId == null) {
       return ResponseEntity.status(401).body("Unauthorized");
     }
 
@@ -117,7 +113,7 @@ public class NotificationController {
     }
 
     Notification notification = optionalNotification.get();
-    if (!notification.getUserId().equals(user.getId())) {
+    if (!notification.getUserId().equals(userId)) {
       return ResponseEntity.status(403).body("Forbidden");
     }
 
@@ -127,28 +123,27 @@ public class NotificationController {
   }
 
   @PutMapping("/mark-all-read")
+  @QueryBudget(1)
   public ResponseEntity<?> markAllAsRead(HttpServletRequest request) {
-    User user = getUserFromRequest(request);
-    if (user == null) {
+    Long userId = AuthenticatedUser.userIdOf(request);
+    if (userId == null) {
       return ResponseEntity.status(401).body("Unauthorized");
     }
 
-    List<Notification> notifications = notificationRepository.findByUserId(
-      user.getId()
-    );
-    notifications.forEach(notification -> notification.setRead(true));
-    notificationRepository.saveAll(notifications);
+    // One UPDATE instead of loading and saving every notification
+    notificationRepository.markAllAsRead(userId);
 
     return ResponseEntity.ok("All notifications marked as read");
   }
 
   @DeleteMapping("/{id}")
+  @QueryBudget(3)
   public ResponseEntity<?> deleteNotification(
     HttpServletRequest request,
     @PathVariable Long id
   ) {
-    User user = getUserFromRequest(request);
-    if (user == null) {
+    Long userId = AuthenticatedUser.userIdOf(request);
+    if (userId == null) {
       return ResponseEntity.status(401).body("Unauthorized");
     }
 
@@ -160,26 +155,14 @@ public class NotificationController {
     }
 
     Notification notification = optionalNotification.get();
-    if (!notification.getUserId().equals(user.getId())) {
+    if (!notification.getUserId().equals(userId)) {
       return ResponseEntity.status(403).body("Forbidden");
     }
 
-    notificationRepository.delete(notification);
+    notificationService.deleteNotification(id);
     return ResponseEntity.ok("Notification deleted successfully");
   }
 
-  private User getUserFromRequest(HttpServletRequest request) {
-    String token = request.getHeader("Authorization");
-    if (token != null && token.startsWith("Bearer ")) {
-      token = token.substring(7).trim();
-      if (userValidationService.isValidToken(token)) {
-        String username = userValidationService.getUsernameFromToken(token);
-        return userRepository.findByUsername(username).orElse(null);
-      }
-    }
-    return null;
-  }
-
   private NotificationResponse convertToResponse(Notification notification) {
     NotificationResponse response = new NotificationResponse();
     response.setId(notification.getId());
@@ -188,6 +171,7 @@ public class NotificationController {
     response.setFaultId(notification.getFaultId());
     response.setFaultTitle(notification.getFaultTitle());
     response.setActionBy(notification.getActionBy());
+    response.setActorCount(notification.getActorCount());
     response.setRead(notification.isRead());
     response.setCreatedAt(notification.getCreatedAt());
     return response;
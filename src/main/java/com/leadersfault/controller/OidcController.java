@@ -1,5 +1,6 @@
 package com.leadersfault.controller;
 
+import com.leadersfault.config.QueryBudget;
 import com.leadersfault.security.JwtUtil;
 import java.security.interfaces.RSAPublicKey;
 import java.util.Base64;
@@ -21,6 +22,7 @@ public class OidcController {
   }
 
   @GetMapping("/.well-known/openid-configuration")
+  @QueryBudget(0)
   public Map<String, Object> configuration() {
     return Map.of(
       "issuer",
@@ -31,6 +33,7 @@ public class OidcController {
   }
 
   @GetMapping("/.well-known/jwks.json")
+  @QueryBudget(0)
   public Map<String, Object> jwks() {
     RSAPublicKey publicKey = (RSAPublicKey) jwtUtil.getPublicKey();
 
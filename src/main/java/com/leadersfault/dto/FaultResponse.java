@@ -1,6 +1,8 @@
 package com.leadersfault.dto;
 
+import com.leadersfault.entity.Fault;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.Data;
 
 @Data
@@ -15,6 +17,64 @@ public class FaultResponse {
   private int likes;
   private int dislikes;
   private double percentageLiked;
-  private String voteStatus;
+  private String voteStatus; // "liked", "disliked" or "none"
   private int totalPages;
+
+  public static FaultResponse fromFault(
+    Fault fault,
+    String voteStatus,
+    int totalPages
+  ) {
+    FaultResponse response = new FaultResponse();
+    response.setId(fault.getId());
+    response.setTitle(fault.getTitle());
+    response.setDescription(fault.getDescription());
+    response.setImageUrl(fault.getImageUrl());
+    response.setUploadedBy(fault.getUploadedBy());
+    response.setTotalPages(totalPages);
+
+    if (fault.getLeaders() != null) {
+      response.setLeaders(
+        fault
+          .getLeaders()
+          .stream()
+          .map(leader -> LeaderResponse.fromLeader(leader, null))
+          .collect(Collectors.toList())
+      );
+    }
+
+    int likes = fault.getLikeCount();
+    int dislikes = fault.getDislikeCount();
+    response.setLikes(likes);
+    response.setDislikes(dislikes);
+
+    if (likes + dislikes > 0) {
+      response.setPercentageLiked((double) likes / (likes + dislikes) * 100);
+    } else {
+      response.setPercentageLiked(0);
+    }
+
+    response.setVoteStatus(voteStatus != null ? voteStatus : "none");
+    return response;
+  }
+
+  /**
+   * Shallow copy, so per-request fields can be set without touching a cached
+   * instance.
+   */
+  public FaultResponse copy() {
+    FaultResponse copy = new FaultResponse();
+    copy.setId(id);
+    copy.setTitle(title);
+    copy.setDescription(description);
+    copy.setImageUrl(imageUrl);
+    copy.setUploadedBy(uploadedBy);
+    copy.setLeaders(leaders);
+    copy.setLikes(likes);
+    copy.setDislikes(dislikes);
+    copy.setPercentageLiked(percentageLiked);
+    copy.setVoteStatus(voteStatus);
+    copy.setTotalPages(totalPages);
+    return copy;
+  }
 }
@@ -0,0 +1,68 @@
+package com.leadersfault.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor handed to clients as {@code nextCursor}. It carries the
+ * sort key of the last row served: (createdAt, id) for fault feeds and the id
+ * alone for the leader feed.
+ */
+public final class FeedCursor {
+
+  private static final String VERSION = "v1";
+
+  private final LocalDateTime createdAt;
+  private final long id;
+
+  private FeedCursor(LocalDateTime createdAt, long id) {
+    this.createdAt = createdAt;
+    this.id = id;
+  }
+
+  public static String encode(LocalDateTime createdAt, long id) {
+    String raw =
+      VERSION + "|" + (createdAt != null ? createdAt.toString() : "") + "|" + id;
+    return Base64
+      .getUrlEncoder()
+      .withoutPadding()
+      .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static String encode(long id) {
+    return encode(null, id);
+  }
+
+  /**
+   * Decodes a cursor produced by {@link #encode}; throws
+   * IllegalArgumentException for anything else.
+   */
+  public static FeedCursor decode(String cursor) {
+    try {
+      String raw = new String(
+        Base64.getUrlDecoder().decode(cursor),
+        StandardCharsets.UTF_8
+      );
+      String[] parts = raw.split("\\|", -1);
+      if (parts.length != 3 || !VERSION.equals(parts[0])) {
+        throw new IllegalArgumentException("Malformed cursor");
+      }
+      LocalDateTime createdAt = parts[1].isEmpty()
+        ? null
+        : LocalDateTime.parse(parts[1]);
+      return new FeedCursor(createdAt, Long.parseLong(parts[2]));
+    } catch (DateTimeParseException | NumberFormatException e) {
+      throw new IllegalArgumentException("Malformed cursor", e);
+    }
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public long getId() {
+    return id;
+  }
+}
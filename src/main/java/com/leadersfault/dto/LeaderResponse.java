@@ -1,7 +1,6 @@
 package com.leadersfault.dto;
 
 import com.leadersfault.entity.Leader;
-import java.util.Set;
 import lombok.Data;
 
 @Data
@@ -17,7 +16,7 @@ public class LeaderResponse {
   private String voteStatus; // "LIKED", "DISLIKED", or null
   private int faultCount;
 
-  public static LeaderResponse fromLeader(Leader leader, Long userId) {
+  public static LeaderResponse fromLeader(Leader leader, String voteStatus) {
     LeaderResponse response = new LeaderResponse();
     response.setId(leader.getId());
     response.setName(leader.getName());
@@ -27,26 +26,25 @@ public class LeaderResponse {
     response.setDislikes(leader.getDislikes());
     response.setNumberOfFaults(leader.getNumberOfFaults());
     response.setFaultCount(leader.getNumberOfFaults()); // Populate faultCount
-
-    // Set vote status based on user's previous actions
-    if (userId != null) {
-      if (
-        leader.getLikedByUsers() != null &&
-        leader.getLikedByUsers().contains(userId)
-      ) {
-        response.setVoteStatus("LIKED");
-      } else if (
-        leader.getDislikedByUsers() != null &&
-        leader.getDislikedByUsers().contains(userId)
-      ) {
-        response.setVoteStatus("DISLIKED");
-      } else {
-        response.setVoteStatus(null);
-      }
-    } else {
-      response.setVoteStatus(null);
-    }
-
+    response.setVoteStatus(voteStatus);
     return response;
   }
+
+  /**
+   * Shallow copy, so per-request fields can be set without touching a cached
+   * instance.
+   */
+  public LeaderResponse copy() {
+    LeaderResponse copy = new LeaderResponse();
+    copy.setId(id);
+    copy.setName(name);
+    copy.setDescription(description);
+    copy.setImageUrl(imageUrl);
+    copy.setLikes(likes);
+    copy.setDislikes(dislikes);
+    copy.setNumberOfFaults(numberOfFaults);
+    copy.setVoteStatus(voteStatus);
+    copy.setFaultCount(faultCount);
+    return copy;
+  }
 }
@@ -17,6 +17,7 @@ public class NotificationResponse {
   private Long faultId;
   private String faultTitle;
   private String actionBy;
+  private int actorCount;
   private boolean isRead;
   private LocalDateTime createdAt;
 }
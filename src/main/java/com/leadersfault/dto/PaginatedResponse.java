@@ -1,5 +1,6 @@
 package com.leadersfault.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 
 public class PaginatedResponse<T> {
@@ -12,6 +13,15 @@ public class PaginatedResponse<T> {
     this.pagination = new PaginationInfo(pageCount);
   }
 
+  /**
+   * Keyset page: no page count is computed, {@code nextCursor} is null on the
+   * last page.
+   */
+  public PaginatedResponse(List<T> content, String nextCursor) {
+    this.content = content;
+    this.pagination = new PaginationInfo(null, nextCursor);
+  }
+
   public List<T> getContent() {
     return content;
   }
@@ -28,20 +38,35 @@ public class PaginatedResponse<T> {
     this.pagination = pagination;
   }
 
+  @JsonInclude(JsonInclude.Include.NON_NULL)
   public static class PaginationInfo {
 
-    private int pageCount;
+    private Integer pageCount;
+    private String nextCursor;
+
+    public PaginationInfo(Integer pageCount) {
+      this.pageCount = pageCount;
+    }
 
-    public PaginationInfo(int pageCount) {
+    public PaginationInfo(Integer pageCount, String nextCursor) {
       this.pageCount = pageCount;
+      this.nextCursor = nextCursor;
     }
 
-    public int getPageCount() {
+    public Integer getPageCount() {
       return pageCount;
     }
 
-    public void setPageCount(int pageCount) {
+    public void setPageCount(Integer pageCount) {
       this.pageCount = pageCount;
     }
+
+    public String getNextCursor() {
+      return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+      this.nextCursor = nextCursor;
+    }
   }
 }
@@ -2,14 +2,24 @@ package com.leadersfault.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "faults")
+@Table(
+  name = "faults",
+  indexes = @Index(
+    name = "idx_faults_created_at_id",
+    columnList = "created_at DESC, id DESC"
+  )
+)
 @Data
 public class Fault {
 
@@ -26,33 +36,50 @@ public class Fault {
 
   private String uploadedBy;
 
-  @ManyToMany(fetch = FetchType.EAGER)
+  // Lazy: callers that need leaders ask for them through an entity graph
+  // (FaultRepository.findWithLeaders*); pages load them in one batch.
+  @ManyToMany(fetch = FetchType.LAZY)
   @JoinTable(
     name = "fault_leaders",
     joinColumns = @JoinColumn(name = "fault_id"),
-    inverseJoinColumns = @JoinColumn(name = "leader_id")
+    inverseJoinColumns = @JoinColumn(name = "leader_id"),
+    indexes = @Index(
+      name = "idx_fault_leaders_leader_fault",
+      columnList = "leader_id, fault_id"
+    )
   )
   @OnDelete(action = OnDeleteAction.CASCADE)
+  @BatchSize(size = 100)
   @JsonIgnore
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   private List<Leader> leaders = new ArrayList<>();
 
-  @ManyToMany(fetch = FetchType.EAGER)
-  @JoinTable(
-    name = "fault_likes",
-    joinColumns = @JoinColumn(name = "fault_id"),
-    inverseJoinColumns = @JoinColumn(name = "user_id")
+  @Column(
+    name = "like_count",
+    nullable = false,
+    columnDefinition = "integer default 0"
   )
-  @OnDelete(action = OnDeleteAction.CASCADE)
-  @JsonIgnore
-  private List<User> likedBy = new ArrayList<>();
+  private int likeCount;
 
-  @ManyToMany(fetch = FetchType.EAGER)
-  @JoinTable(
-    name = "fault_dislikes",
-    joinColumns = @JoinColumn(name = "fault_id"),
-    inverseJoinColumns = @JoinColumn(name = "user_id")
+  @Column(
+    name = "dislike_count",
+    nullable = false,
+    columnDefinition = "integer default 0"
   )
-  @OnDelete(action = OnDeleteAction.CASCADE)
-  @JsonIgnore
-  private List<User> dislikedBy = new ArrayList<>();
+  private int dislikeCount;
+
+  @Column(
+    name = "created_at",
+    nullable = false,
+    columnDefinition = "timestamp default now()"
+  )
+  private LocalDateTime createdAt;
+
+  @PrePersist
+  protected void onCreate() {
+    if (createdAt == null) {
+      createdAt = LocalDateTime.now();
+    }
+  }
 }
@@ -0,0 +1,40 @@
+package com.leadersfault.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One user's vote on a fault. The composite key guarantees a user holds at
+ * most one vote per fault; the counters on {@link Fault} are kept in step with
+ * these rows so feeds never have to count them.
+ */
+@Entity
+@Table(
+  name = "fault_votes",
+  indexes = @Index(
+    name = "idx_fault_votes_user_fault",
+    columnList = "user_id, fault_id"
+  )
+)
+@IdClass(FaultVoteId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FaultVote {
+
+  public static final short LIKE = 1;
+  public static final short DISLIKE = -1;
+
+  @Id
+  @Column(name = "fault_id")
+  private Long faultId;
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Column(nullable = false)
+  private short value;
+}
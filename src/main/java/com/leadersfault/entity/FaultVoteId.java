@@ -0,0 +1,15 @@
+package com.leadersfault.entity;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FaultVoteId implements Serializable {
+
+  private Long faultId;
+  private Long userId;
+}
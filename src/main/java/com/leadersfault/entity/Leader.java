@@ -3,10 +3,10 @@ package com.leadersfault.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Entity
 @Table(name = "leaders")
@@ -39,21 +39,7 @@ public class Leader {
 
   @ManyToMany(mappedBy = "leaders", fetch = FetchType.LAZY)
   @JsonIgnore
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   private List<Fault> faults = new ArrayList<>();
-
-  @ElementCollection(fetch = FetchType.EAGER)
-  @CollectionTable(
-    name = "leader_likes",
-    joinColumns = @JoinColumn(name = "leader_id")
-  )
-  @Column(name = "user_id")
-  private Set<Long> likedByUsers = new HashSet<>();
-
-  @ElementCollection(fetch = FetchType.EAGER)
-  @CollectionTable(
-    name = "leader_dislikes",
-    joinColumns = @JoinColumn(name = "leader_id")
-  )
-  @Column(name = "user_id")
-  private Set<Long> dislikedByUsers = new HashSet<>();
 }
@@ -0,0 +1,40 @@
+package com.leadersfault.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One user's vote on a leader, mirroring {@link FaultVote}. The
+ * {@code likes}/{@code dislikes} counters on {@link Leader} are kept in step
+ * with these rows.
+ */
+@Entity
+@Table(
+  name = "leader_votes",
+  indexes = @Index(
+    name = "idx_leader_votes_user_leader",
+    columnList = "user_id, leader_id"
+  )
+)
+@IdClass(LeaderVoteId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderVote {
+
+  public static final short LIKE = 1;
+  public static final short DISLIKE = -1;
+
+  @Id
+  @Column(name = "leader_id")
+  private Long leaderId;
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Column(nullable = false)
+  private short value;
+}
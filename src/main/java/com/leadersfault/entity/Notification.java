@@ -5,12 +5,27 @@ import java.time.LocalDateTime;
 import lombok.Data;
 
 @Entity
-@Table(name = "notifications")
+@Table(
+  name = "notifications",
+  indexes = @Index(
+    name = "idx_notifications_user_fault",
+    columnList = "userId, faultId"
+  )
+)
 @Data
 public class Notification {
 
+  // Pooled sequence ids let Hibernate batch inserts; IDENTITY cannot
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(
+    strategy = GenerationType.SEQUENCE,
+    generator = "notifications_seq"
+  )
+  @SequenceGenerator(
+    name = "notifications_seq",
+    sequenceName = "notifications_seq",
+    allocationSize = 50
+  )
   private Long id;
 
   @Column(nullable = false)
@@ -29,9 +44,16 @@ public class Notification {
   @Column(nullable = false)
   private String faultTitle;
 
+  /**
+   * The latest voter. {@link #actorCount} counts the distinct voters folded
+   * into this notification, each recorded as a {@link NotificationActor}.
+   */
   @Column(nullable = false)
   private String actionBy;
 
+  @Column(nullable = false, columnDefinition = "integer default 1")
+  private int actorCount = 1;
+
   @Column(nullable = false)
   private boolean isRead = false;
 
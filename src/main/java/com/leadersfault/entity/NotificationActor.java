@@ -0,0 +1,40 @@
+package com.leadersfault.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One voter folded into a coalesced {@link Notification}. The composite key
+ * lets a returning voter be recognised, so {@link Notification#getActorCount}
+ * counts each voter once.
+ */
+@Entity
+@Table(name = "notification_actors")
+@IdClass(NotificationActorId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationActor implements Persistable<NotificationActorId> {
+
+  @Id
+  @Column(name = "notification_id")
+  private Long notificationId;
+
+  @Id
+  @Column(name = "username")
+  private String username;
+
+  @Override
+  public NotificationActorId getId() {
+    return new NotificationActorId(notificationId, username);
+  }
+
+  // Rows are only ever inserted, so save() persists without a lookup first
+  @Override
+  public boolean isNew() {
+    return true;
+  }
+}
@@ -0,0 +1,15 @@
+package com.leadersfault.entity;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationActorId implements Serializable {
+
+  private Long notificationId;
+  private String username;
+}
@@ -0,0 +1,62 @@
+package com.leadersfault.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+/**
+ * A notification event written in the same transaction as the vote that
+ * caused it, waiting to be relayed to Kafka. Rows are deleted once the
+ * broker has acknowledged them.
+ *
+ * <p>Ids are drawn one at a time while the vote holds its recipient's
+ * {@code users} row lock, so one recipient's ids rise in commit order and
+ * the relay, reading by id, delivers them in vote order.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Data
+public class NotificationOutboxEntry {
+
+  // Not pooled: a pre-allocated id would not follow the recipient lock
+  @Id
+  @GeneratedValue(
+    strategy = GenerationType.SEQUENCE,
+    generator = "notification_outbox_order_seq"
+  )
+  @SequenceGenerator(
+    name = "notification_outbox_order_seq",
+    sequenceName = "notification_outbox_order_seq",
+    allocationSize = 1
+  )
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private NotificationType notificationType;
+
+  @Column(nullable = false)
+  private Long faultId;
+
+  @Column(nullable = false)
+  private String faultTitle;
+
+  @Column(nullable = false)
+  private String faultOwner;
+
+  @Column(nullable = false)
+  private Long faultOwnerId;
+
+  @Column(nullable = false)
+  private String actionBy;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(nullable = false)
+  private String traceId;
+
+  /** When the vote was written, in epoch microseconds. */
+  @Column(nullable = false)
+  private long writtenAtMicros;
+}
@@ -1,14 +1,101 @@
 package com.leadersfault.repository;
 
 import com.leadersfault.entity.Fault;
-import com.leadersfault.entity.Leader;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface FaultRepository extends JpaRepository<Fault, Long> {
+  // Paged and keyset queries select faults only; their leaders are then
+  // loaded for the whole page in one batch (@BatchSize on Fault.leaders),
+  // because fetch-joining a collection would make Hibernate page in memory.
   Page<Fault> findAll(Pageable pageable);
-  Page<Fault> findByLeadersContaining(Leader leader, Pageable pageable);
+
+  // An explicit join: the derived findByLeadersContaining compiled to a
+  // correlated MEMBER OF subquery evaluated for every fault row.
+  @Query(
+    value = "SELECT f FROM Fault f JOIN f.leaders l WHERE l.id = :leaderId",
+    countQuery = "SELECT COUNT(f) FROM Fault f JOIN f.leaders l " +
+    "WHERE l.id = :leaderId"
+  )
+  Page<Fault> findPageByLeaderId(
+    @Param("leaderId") Long leaderId,
+    Pageable pageable
+  );
+
+  @EntityGraph(attributePaths = "leaders")
+  Optional<Fault> findWithLeadersById(Long id);
+
+  @EntityGraph(attributePaths = "leaders")
+  List<Fault> findWithLeadersByIdIn(Collection<Long> ids);
+
+  @Query(
+    value = "SELECT * FROM faults " +
+    "ORDER BY created_at DESC, id DESC LIMIT :limit",
+    nativeQuery = true
+  )
+  List<Fault> findFirstKeysetPage(@Param("limit") int limit);
+
+  @Query(
+    value = "SELECT * FROM faults " +
+    "WHERE (created_at, id) < (:createdAt, :id) " +
+    "ORDER BY created_at DESC, id DESC LIMIT :limit",
+    nativeQuery = true
+  )
+  List<Fault> findKeysetPageAfter(
+    @Param("createdAt") LocalDateTime createdAt,
+    @Param("id") Long id,
+    @Param("limit") int limit
+  );
+
+  @Query(
+    value = "SELECT f.* FROM faults f " +
+    "JOIN fault_leaders fl ON fl.fault_id = f.id " +
+    "WHERE fl.leader_id = :leaderId " +
+    "ORDER BY f.created_at DESC, f.id DESC LIMIT :limit",
+    nativeQuery = true
+  )
+  List<Fault> findFirstKeysetPageByLeader(
+    @Param("leaderId") Long leaderId,
+    @Param("limit") int limit
+  );
+
+  @Query(
+    value = "SELECT f.* FROM faults f " +
+    "JOIN fault_leaders fl ON fl.fault_id = f.id " +
+    "WHERE fl.leader_id = :leaderId " +
+    "AND (f.created_at, f.id) < (:createdAt, :id) " +
+    "ORDER BY f.created_at DESC, f.id DESC LIMIT :limit",
+    nativeQuery = true
+  )
+  List<Fault> findKeysetPageByLeaderAfter(
+    @Param("leaderId") Long leaderId,
+    @Param("createdAt") LocalDateTime createdAt,
+    @Param("id") Long id,
+    @Param("limit") int limit
+  );
+
+  @Modifying
+  @Query(
+    value = "UPDATE faults SET " +
+    "like_count = GREATEST(like_count + :likeDelta, 0), " +
+    "dislike_count = GREATEST(dislike_count + :dislikeDelta, 0) " +
+    "WHERE id = :id",
+    nativeQuery = true
+  )
+  int adjustVoteCounts(
+    @Param("id") Long id,
+    @Param("likeDelta") int likeDelta,
+    @Param("dislikeDelta") int dislikeDelta
+  );
 }
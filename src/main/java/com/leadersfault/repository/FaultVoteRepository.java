@@ -0,0 +1,63 @@
+package com.leadersfault.repository;
+
+import com.leadersfault.entity.FaultVote;
+import com.leadersfault.entity.FaultVoteId;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface FaultVoteRepository
+  extends JpaRepository<FaultVote, FaultVoteId> {
+  List<FaultVote> findByUserIdAndFaultIdIn(
+    Long userId,
+    Collection<Long> faultIds
+  );
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM FaultVote v WHERE v.faultId = :faultId")
+  int deleteByFaultId(@Param("faultId") Long faultId);
+
+  @Modifying
+  @Query(
+    value = "DELETE FROM fault_votes " +
+    "WHERE fault_id = :faultId AND user_id = :userId AND value = :value",
+    nativeQuery = true
+  )
+  int deleteVote(
+    @Param("faultId") Long faultId,
+    @Param("userId") Long userId,
+    @Param("value") short value
+  );
+
+  @Modifying
+  @Query(
+    value = "UPDATE fault_votes SET value = :value " +
+    "WHERE fault_id = :faultId AND user_id = :userId AND value <> :value",
+    nativeQuery = true
+  )
+  int switchVote(
+    @Param("faultId") Long faultId,
+    @Param("userId") Long userId,
+    @Param("value") short value
+  );
+
+  @Modifying
+  @Query(
+    value = "INSERT INTO fault_votes (fault_id, user_id, value) " +
+    "VALUES (:faultId, :userId, :value) " +
+    "ON CONFLICT (fault_id, user_id) DO NOTHING",
+    nativeQuery = true
+  )
+  int insertVote(
+    @Param("faultId") Long faultId,
+    @Param("userId") Long userId,
+    @Param("value") short value
+  );
+}
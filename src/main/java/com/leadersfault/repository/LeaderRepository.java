@@ -1,12 +1,49 @@
 package com.leadersfault.repository;
 
 import com.leadersfault.entity.Leader;
+import java.util.Collection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface LeaderRepository extends JpaRepository<Leader, Long> {
   java.util.List<Leader> findTop5ByNameContainingIgnoreCase(String name);
+
+  java.util.List<Leader> findByIdGreaterThanOrderByIdAsc(
+    Long id,
+    Pageable pageable
+  );
+
+  @Transactional
+  @Modifying
+  @Query(
+    value = "UPDATE leaders SET " +
+    "number_of_faults = GREATEST(number_of_faults + :delta, 0) " +
+    "WHERE id IN (:ids)",
+    nativeQuery = true
+  )
+  int adjustFaultCounts(
+    @Param("ids") Collection<Long> ids,
+    @Param("delta") int delta
+  );
+
+  @Modifying
+  @Query(
+    value = "UPDATE leaders SET " +
+    "likes = GREATEST(likes + :likeDelta, 0), " +
+    "dislikes = GREATEST(dislikes + :dislikeDelta, 0) " +
+    "WHERE id = :id",
+    nativeQuery = true
+  )
+  int adjustVoteCounts(
+    @Param("id") Long id,
+    @Param("likeDelta") int likeDelta,
+    @Param("dislikeDelta") int dislikeDelta
+  );
 }
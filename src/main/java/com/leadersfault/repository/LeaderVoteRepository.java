@@ -0,0 +1,45 @@
+package com.leadersfault.repository;
+
+import com.leadersfault.entity.LeaderVote;
+import com.leadersfault.entity.LeaderVoteId;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LeaderVoteRepository
+  extends JpaRepository<LeaderVote, LeaderVoteId> {
+  List<LeaderVote> findByUserIdAndLeaderIdIn(
+    Long userId,
+    Collection<Long> leaderIds
+  );
+
+  @Modifying
+  @Query(
+    value = "UPDATE leader_votes SET value = :value " +
+    "WHERE leader_id = :leaderId AND user_id = :userId AND value <> :value",
+    nativeQuery = true
+  )
+  int switchVote(
+    @Param("leaderId") Long leaderId,
+    @Param("userId") Long userId,
+    @Param("value") short value
+  );
+
+  @Modifying
+  @Query(
+    value = "INSERT INTO leader_votes (leader_id, user_id, value) " +
+    "VALUES (:leaderId, :userId, :value) " +
+    "ON CONFLICT (leader_id, user_id) DO NOTHING",
+    nativeQuery = true
+  )
+  int insertVote(
+    @Param("leaderId") Long leaderId,
+    @Param("userId") Long userId,
+    @Param("value") short value
+  );
+}
@@ -0,0 +1,39 @@
+package com.leadersfault.repository;
+
+import com.leadersfault.entity.NotificationActor;
+import com.leadersfault.entity.NotificationActorId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface NotificationActorRepository
+  extends JpaRepository<NotificationActor, NotificationActorId> {
+  /**
+   * Records {@code usernames} as actors of the notification in one
+   * statement and returns how many of them were not recorded yet. They are
+   * bound as one array; a collection would be expanded into a row value.
+   */
+  @Modifying
+  @Query(
+    value = "INSERT INTO notification_actors (notification_id, username) " +
+    "SELECT :notificationId, username " +
+    "FROM unnest(CAST(:usernames AS varchar[])) AS username " +
+    "ON CONFLICT (notification_id, username) DO NOTHING",
+    nativeQuery = true
+  )
+  int addActors(
+    @Param("notificationId") Long notificationId,
+    @Param("usernames") String[] usernames
+  );
+
+  @Transactional
+  @Modifying
+  @Query(
+    "DELETE FROM NotificationActor a WHERE a.notificationId = :notificationId"
+  )
+  int deleteByNotificationId(@Param("notificationId") Long notificationId);
+}
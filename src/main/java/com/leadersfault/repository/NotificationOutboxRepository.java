@@ -0,0 +1,25 @@
+package com.leadersfault.repository;
+
+import com.leadersfault.entity.NotificationOutboxEntry;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationOutboxRepository
+  extends JpaRepository<NotificationOutboxEntry, Long> {
+  @Query(
+    value = "SELECT * FROM notification_outbox ORDER BY id LIMIT :limit",
+    nativeQuery = true
+  )
+  List<NotificationOutboxEntry> findOldest(@Param("limit") int limit);
+
+  /**
+   * Takes a transaction-scoped advisory lock, so only one instance relays at
+   * a time. Returns false if another holds it.
+   */
+  @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+  boolean tryRelayLock(@Param("key") long key);
+}
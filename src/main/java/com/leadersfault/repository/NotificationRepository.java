@@ -1,11 +1,17 @@
 package com.leadersfault.repository;
 
 import com.leadersfault.entity.Notification;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface NotificationRepository
@@ -28,4 +34,27 @@ public interface NotificationRepository
   List<Notification> findByUserId(Long userId);
 
   long countByUserIdAndIsReadFalse(Long userId);
+
+  /**
+   * Unread notifications touched since {@code since} for any of the given
+   * recipients and faults; callers match the exact pairs.
+   */
+  @Query(
+    "SELECT n FROM Notification n " +
+    "WHERE n.userId IN :userIds AND n.faultId IN :faultIds " +
+    "AND n.isRead = false AND n.createdAt >= :since"
+  )
+  List<Notification> findUnreadSince(
+    @Param("userIds") Collection<Long> userIds,
+    @Param("faultIds") Collection<Long> faultIds,
+    @Param("since") LocalDateTime since
+  );
+
+  @Transactional
+  @Modifying
+  @Query(
+    "UPDATE Notification n SET n.isRead = true " +
+    "WHERE n.userId = :userId AND n.isRead = false"
+  )
+  int markAllAsRead(@Param("userId") Long userId);
 }
@@ -4,12 +4,27 @@ import com.leadersfault.entity.User;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByUsername(String username);
 
+  @Query("SELECT u.id FROM User u WHERE u.username = :username")
+  Optional<Long> findIdByUsername(@Param("username") String username);
+
+  /**
+   * Locks the user's row until the transaction ends, so writes ordered per
+   * user, like their outbox notifications, queue behind each other.
+   */
+  @Query(
+    value = "SELECT id FROM users WHERE id = :id FOR UPDATE",
+    nativeQuery = true
+  )
+  Optional<Long> lockById(@Param("id") Long id);
+
   List<User> findTop5ByUsernameContainingIgnoreCaseOrEmailContainingIgnoreCase(
     String username,
     String email
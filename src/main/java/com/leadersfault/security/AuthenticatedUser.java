@@ -0,0 +1,45 @@
+package com.leadersfault.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Caller identity resolved by {@link JwtAuthenticationFilter} from a verified
+ * bearer token. Controllers read it from the request instead of parsing the
+ * token again.
+ */
+public final class AuthenticatedUser {
+
+  static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
+
+  private final Long userId;
+  private final String username;
+
+  public AuthenticatedUser(Long userId, String username) {
+    this.userId = userId;
+    this.username = username;
+  }
+
+  /**
+   * Returns the caller of this request, or null when no valid token was sent.
+   */
+  public static AuthenticatedUser from(HttpServletRequest request) {
+    return (AuthenticatedUser) request.getAttribute(REQUEST_ATTRIBUTE);
+  }
+
+  /**
+   * Returns the caller's user id, or null for anonymous requests.
+   */
+  public static Long userIdOf(HttpServletRequest request) {
+    AuthenticatedUser user = from(request);
+    return user != null ? user.getUserId() : null;
+  }
+
+  /** Null when the token's subject no longer exists. */
+  public Long getUserId() {
+    return userId;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+}
@@ -0,0 +1,65 @@
+package com.leadersfault.security;
+
+import com.leadersfault.service.UserIdLookup;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Verifies the bearer token once per request and exposes the caller as an
+ * {@link AuthenticatedUser} request attribute. Requests without a valid
+ * token pass through anonymously; each endpoint decides whether that is
+ * acceptable.
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+  private static final Logger logger = LoggerFactory.getLogger(
+    JwtAuthenticationFilter.class
+  );
+
+  @Autowired
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @Autowired
+  private UserIdLookup userIdLookup;
+
+  @Override
+  protected void doFilterInternal(
+    HttpServletRequest request,
+    HttpServletResponse response,
+    FilterChain filterChain
+  ) throws ServletException, IOException {
+    String header = request.getHeader("Authorization");
+    if (header != null && header.startsWith("Bearer ")) {
+      String token = header.substring(7).trim(); // Remove "Bearer " prefix and trim whitespace
+      try {
+        Claims claims = verifiedTokenCache.verify(token);
+        String username = claims.getSubject();
+        if (username != null) {
+          // Tokens issued before the uid claim fall back to a cached lookup
+          Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+          if (userId == null) {
+            userId = userIdLookup.findUserId(username).orElse(null);
+          }
+          request.setAttribute(
+            AuthenticatedUser.REQUEST_ATTRIBUTE,
+            new AuthenticatedUser(userId, username)
+          );
+        }
+      } catch (JwtException | IllegalArgumentException e) {
+        logger.debug("Rejected bearer token: {}", e.getMessage());
+      }
+    }
+    filterChain.doFilter(request, response);
+  }
+}
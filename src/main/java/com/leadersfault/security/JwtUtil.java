@@ -18,6 +18,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class JwtUtil {
 
+  public static final String USER_ID_CLAIM = "uid";
+
   private static final String AUDIENCE = "custom-jwt";
   private static final long EXPIRATION_MS = 1000 * 60 * 60 * 24 * 5; // 5 days
 
@@ -43,9 +45,18 @@ public class JwtUtil {
   }
 
   public String generateToken(String username) {
+    return generateToken(username, null);
+  }
+
+  /**
+   * Issues a token whose {@value #USER_ID_CLAIM} claim carries the user id, so
+   * requests can be attributed without a user lookup.
+   */
+  public String generateToken(String username, Long userId) {
     return Jwts
       .builder()
       .setSubject(username)
+      .claim(USER_ID_CLAIM, userId)
       .setIssuer(issuer)
       .setAudience(AUDIENCE)
       .setIssuedAt(new Date())
@@ -81,10 +92,6 @@ public class JwtUtil {
     return extractClaim(token, Claims::getExpiration);
   }
 
-  private Boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
-  }
-
   public void validateJwt(String token) {
     try {
       // Trim any leading/trailing whitespace from token
@@ -96,8 +103,11 @@ public class JwtUtil {
   }
 
   public Boolean validateToken(String token, String username) {
-    final String extractedUsername = extractUsername(token);
-    return (extractedUsername.equals(username) && !isTokenExpired(token));
+    final Claims claims = validateAndParse(token);
+    return (
+      claims.getSubject().equals(username) &&
+      !claims.getExpiration().before(new Date())
+    );
   }
 
   public PublicKey getPublicKey() {
@@ -0,0 +1,151 @@
+package com.leadersfault.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the claims of tokens that {@link JwtUtil#validateAndParse} has
+ * already accepted, keyed by the SHA-256 digest of the token. Entries expire
+ * at the token's {@code exp}, and a hit is re-checked against the clock, so
+ * the cache never accepts a token the parser would reject. Tokens without an
+ * expiry are verified every time.
+ *
+ * <p>Every call is timed as {@code jwt.verification}, tagged with whether the
+ * cache answered and whether the token was accepted.
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private final JwtUtil jwtUtil;
+  private final Cache<String, Claims> cache;
+  private final Timer hits;
+  private final Timer verified;
+  private final Timer rejected;
+
+  public VerifiedTokenCache(
+    JwtUtil jwtUtil,
+    MeterRegistry meterRegistry,
+    @Value("${security.jwt.cache.max-size:10000}") long maxSize
+  ) {
+    this.jwtUtil = jwtUtil;
+    this.hits = timer(meterRegistry, "hit", "valid");
+    this.verified = timer(meterRegistry, "miss", "valid");
+    this.rejected = timer(meterRegistry, "miss", "invalid");
+    this.cache =
+      Caffeine
+        .newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(new ExpireAtTokenExpiry())
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Returns the claims of a valid token; throws the same JwtException as
+   * {@link JwtUtil#validateAndParse} otherwise.
+   */
+  public Claims verify(String token) {
+    long start = System.nanoTime();
+    token = token.trim();
+    String key = digest(token);
+
+    Claims cached = cache.getIfPresent(key);
+    if (cached != null && isUnexpired(cached)) {
+      hits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return cached;
+    }
+
+    Claims claims;
+    try {
+      claims = jwtUtil.validateAndParse(token);
+    } catch (JwtException | IllegalArgumentException e) {
+      rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+    if (claims.getExpiration() != null) {
+      cache.put(key, claims);
+    }
+    verified.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return claims;
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  private static Timer timer(
+    MeterRegistry meterRegistry,
+    String cacheResult,
+    String result
+  ) {
+    return Timer
+      .builder("jwt.verification")
+      .description("Bearer token verification, including cache lookups")
+      .tag("cache", cacheResult)
+      .tag("result", result)
+      .register(meterRegistry);
+  }
+
+  private static boolean isUnexpired(Claims claims) {
+    return new Date().before(claims.getExpiration());
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash = MessageDigest
+        .getInstance("SHA-256")
+        .digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private static class ExpireAtTokenExpiry implements Expiry<String, Claims> {
+
+    @Override
+    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+      long remainingMs =
+        claims.getExpiration().getTime() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+      String key,
+      Claims claims,
+      long currentTime,
+      long currentDuration
+    ) {
+      return expireAfterCreate(key, claims, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+      String key,
+      Claims claims,
+      long currentTime,
+      long currentDuration
+    ) {
+      return currentDuration;
+    }
+  }
+}
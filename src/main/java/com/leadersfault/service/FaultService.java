@@ -0,0 +1,66 @@
+package com.leadersfault.service;
+
+import com.leadersfault.entity.Fault;
+import com.leadersfault.entity.Leader;
+import com.leadersfault.repository.FaultRepository;
+import com.leadersfault.repository.FaultVoteRepository;
+import com.leadersfault.repository.LeaderRepository;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class FaultService {
+
+  @Autowired
+  private FaultRepository faultRepository;
+
+  @Autowired
+  private LeaderRepository leaderRepository;
+
+  @Autowired
+  private FaultVoteRepository faultVoteRepository;
+
+  /**
+   * Saves a new fault and increments the fault count of each of its leaders
+   * in one transaction, so a failed insert leaves no count behind. Counts
+   * change in place; concurrent posts tagging the same leaders neither lose
+   * updates nor deadlock.
+   */
+  @Transactional
+  public Fault createFault(Fault fault) {
+    List<Long> leaderIds = leaderIdsOf(fault);
+    if (!leaderIds.isEmpty()) {
+      leaderRepository.adjustFaultCounts(leaderIds, 1);
+    }
+    return faultRepository.save(fault);
+  }
+
+  /**
+   * Deletes a fault with its votes and decrements its leaders' fault counts,
+   * all or nothing.
+   */
+  @Transactional
+  public void deleteFault(Fault fault) {
+    List<Long> leaderIds = leaderIdsOf(fault);
+    if (!leaderIds.isEmpty()) {
+      leaderRepository.adjustFaultCounts(leaderIds, -1);
+    }
+    faultVoteRepository.deleteByFaultId(fault.getId());
+    faultRepository.delete(fault);
+  }
+
+  private static List<Long> leaderIdsOf(Fault fault) {
+    if (fault.getLeaders() == null) {
+      return List.of();
+    }
+    return fault
+      .getLeaders()
+      .stream()
+      .map(Leader::getId)
+      .distinct()
+      .collect(Collectors.toList());
+  }
+}
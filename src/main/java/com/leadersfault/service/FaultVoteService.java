@@ -0,0 +1,92 @@
+package com.leadersfault.service;
+
+import com.leadersfault.entity.FaultVote;
+import com.leadersfault.repository.FaultRepository;
+import com.leadersfault.repository.FaultVoteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class FaultVoteService {
+
+  @Autowired
+  private FaultRepository faultRepository;
+
+  @Autowired
+  private FaultVoteRepository faultVoteRepository;
+
+  @Autowired
+  private NotificationOutbox notificationOutbox;
+
+  @Autowired
+  private VoteNotificationDebouncer voteNotificationDebouncer;
+
+  /**
+   * {@link #toggleVote} and, when it casts or switches a vote, queues the
+   * owner's notification in the same transaction, unless this user's
+   * notification for the same vote on this fault was sent moments ago.
+   */
+  @Transactional
+  public VoteTransition toggleVoteAndNotify(
+    Long faultId,
+    Long userId,
+    String username,
+    short value
+  ) {
+    VoteTransition transition = toggleVote(faultId, userId, value);
+    if (
+      transition.isNewVote() &&
+      voteNotificationDebouncer.shouldNotify(userId, faultId, value)
+    ) {
+      notificationOutbox.enqueueVote(
+        faultId,
+        username,
+        value == FaultVote.LIKE
+      );
+    }
+    return transition;
+  }
+
+  /**
+   * Toggles the user's vote on a fault: voting the same way twice withdraws
+   * the vote, voting the other way switches it.
+   *
+   * Each step is a single-row statement on the vote row followed by an
+   * in-place counter update, so concurrent voters never overwrite each
+   * other's changes and a repeated request can at worst be a no-op.
+   */
+  @Transactional
+  public VoteTransition toggleVote(Long faultId, Long userId, short value) {
+    if (faultVoteRepository.deleteVote(faultId, userId, value) == 1) {
+      adjustCounts(faultId, value, -1, 0);
+      return VoteTransition.RETRACTED;
+    }
+    if (faultVoteRepository.switchVote(faultId, userId, value) == 1) {
+      adjustCounts(faultId, value, 1, -1);
+      return VoteTransition.SWITCHED;
+    }
+    if (faultVoteRepository.insertVote(faultId, userId, value) == 1) {
+      adjustCounts(faultId, value, 1, 0);
+      return VoteTransition.CAST;
+    }
+    return VoteTransition.UNCHANGED;
+  }
+
+  /**
+   * Applies {@code delta} to the counter matching {@code value} and
+   * {@code oppositeDelta} to the other one, in a single statement.
+   */
+  private void adjustCounts(
+    Long faultId,
+    short value,
+    int delta,
+    int oppositeDelta
+  ) {
+    if (value == FaultVote.LIKE) {
+      faultRepository.adjustVoteCounts(faultId, delta, oppositeDelta);
+    } else {
+      faultRepository.adjustVoteCounts(faultId, oppositeDelta, delta);
+    }
+  }
+}
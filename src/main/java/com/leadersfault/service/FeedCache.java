@@ -0,0 +1,285 @@
+package com.leadersfault.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.leadersfault.dto.FaultResponse;
+import com.leadersfault.dto.LeaderResponse;
+import com.leadersfault.entity.Fault;
+import com.leadersfault.entity.Leader;
+import com.leadersfault.repository.FaultRepository;
+import com.leadersfault.repository.LeaderRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bounded cache of the user-independent parts of the fault and leader feeds.
+ *
+ * <p>Entries are normalized: pages hold ids only, faults hold their own
+ * fields plus leader ids, and leaders are cached once and shared by every
+ * fault that references them. A vote therefore evicts exactly one entry, and
+ * only a change in feed membership (a fault or leader created or deleted)
+ * drops pages. Callers always receive copies, so per-user fields such as
+ * {@code voteStatus} can be set on the result without touching the cache.
+ *
+ * <p>Every entry also expires after {@code feed-cache.ttl}, which bounds any
+ * staleness left by a read racing an invalidation. Misses are loaded in a
+ * read-only transaction, so a fully cached request never takes a connection.
+ */
+@Service
+public class FeedCache {
+
+  private final FaultRepository faultRepository;
+  private final LeaderRepository leaderRepository;
+  private final TransactionTemplate readOnlyTransaction;
+
+  private final Cache<String, FeedPage> faultPages;
+  private final Cache<String, FeedPage> leaderPages;
+  private final Cache<Long, CachedFault> faults;
+  private final Cache<Long, LeaderResponse> leaders;
+
+  public FeedCache(
+    FaultRepository faultRepository,
+    LeaderRepository leaderRepository,
+    PlatformTransactionManager transactionManager,
+    @Value("${feed-cache.ttl:30s}") Duration ttl,
+    @Value("${feed-cache.max-pages:1000}") long maxPages,
+    @Value("${feed-cache.max-items:20000}") long maxItems
+  ) {
+    this.faultRepository = faultRepository;
+    this.leaderRepository = leaderRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+
+    this.faultPages = build(ttl, maxPages);
+    this.leaderPages = build(ttl, maxPages);
+    this.faults = build(ttl, maxItems);
+    this.leaders = build(ttl, maxItems);
+  }
+
+  private static <K, V> Cache<K, V> build(Duration ttl, long maxSize) {
+    return Caffeine
+      .newBuilder()
+      .maximumSize(maxSize)
+      .expireAfterWrite(ttl)
+      .recordStats()
+      .build();
+  }
+
+  /**
+   * Returns the cached fault page for {@code key}, running {@code loader} in a
+   * read-only transaction on a miss. Loaders should pass the faults they read
+   * to {@link #cacheFaults} so the page's items are not fetched again.
+   */
+  public FeedPage faultPage(String key, Supplier<FeedPage> loader) {
+    return faultPages.get(
+      key,
+      k -> readOnlyTransaction.execute(status -> loader.get())
+    );
+  }
+
+  /** Leader counterpart of {@link #faultPage}. */
+  public FeedPage leaderPage(String key, Supplier<FeedPage> loader) {
+    return leaderPages.get(
+      key,
+      k -> readOnlyTransaction.execute(status -> loader.get())
+    );
+  }
+
+  /**
+   * Copies of the cached faults in the order of {@code ids}, with voteStatus
+   * "none" on the fault and null on its leaders. Ids that no longer exist are
+   * skipped.
+   */
+  public List<FaultResponse> getFaults(List<Long> ids) {
+    Map<Long, CachedFault> cached = faults.getAll(ids, this::loadFaults);
+
+    Set<Long> leaderIds = new LinkedHashSet<>();
+    cached.values().forEach(fault -> leaderIds.addAll(fault.leaderIds));
+    Map<Long, LeaderResponse> leaderEntries = leaders.getAll(
+      leaderIds,
+      this::loadLeaders
+    );
+
+    List<FaultResponse> responses = new ArrayList<>(cached.size());
+    for (Long id : ids) {
+      CachedFault entry = cached.get(id);
+      if (entry == null) {
+        continue;
+      }
+      FaultResponse response = entry.response.copy();
+      response.setLeaders(
+        entry.leaderIds
+          .stream()
+          .map(leaderEntries::get)
+          .filter(leader -> leader != null)
+          .map(LeaderResponse::copy)
+          .collect(Collectors.toList())
+      );
+      responses.add(response);
+    }
+    return responses;
+  }
+
+  /**
+   * Copies of the cached leaders in the order of {@code ids}, with a null
+   * voteStatus. Ids that no longer exist are skipped.
+   */
+  public List<LeaderResponse> getLeaders(List<Long> ids) {
+    Map<Long, LeaderResponse> cached = leaders.getAll(ids, this::loadLeaders);
+    List<LeaderResponse> responses = new ArrayList<>(cached.size());
+    for (Long id : ids) {
+      LeaderResponse entry = cached.get(id);
+      if (entry != null) {
+        responses.add(entry.copy());
+      }
+    }
+    return responses;
+  }
+
+  /** Stores faults a page loader has already read, with their leaders. */
+  public void cacheFaults(Collection<Fault> loaded) {
+    Map<Long, LeaderResponse> leaderEntries = new HashMap<>();
+    for (Fault fault : loaded) {
+      faults.put(fault.getId(), CachedFault.of(fault));
+      if (fault.getLeaders() != null) {
+        fault
+          .getLeaders()
+          .forEach(leader ->
+            leaderEntries.put(
+              leader.getId(),
+              LeaderResponse.fromLeader(leader, null)
+            )
+          );
+      }
+    }
+    leaders.putAll(leaderEntries);
+  }
+
+  /** Stores leaders a page loader has already read. */
+  public void cacheLeaders(Collection<Leader> loaded) {
+    Map<Long, LeaderResponse> entries = new HashMap<>();
+    loaded.forEach(leader ->
+      entries.put(leader.getId(), LeaderResponse.fromLeader(leader, null))
+    );
+    leaders.putAll(entries);
+  }
+
+  /**
+   * A fault was created or deleted: fault pages change membership and its
+   * leaders' fault counts change.
+   */
+  public void faultAddedOrRemoved(Long faultId, Collection<Long> leaderIds) {
+    faultPages.invalidateAll();
+    if (faultId != null) {
+      faults.invalidate(faultId);
+    }
+    leaders.invalidateAll(leaderIds);
+  }
+
+  /** A vote changed a fault's counters. */
+  public void faultVoted(Long faultId) {
+    faults.invalidate(faultId);
+  }
+
+  /** A vote changed a leader's counters. */
+  public void leaderVoted(Long leaderId) {
+    leaders.invalidate(leaderId);
+  }
+
+  /** A leader was created, so leader pages change membership. */
+  public void leaderAdded() {
+    leaderPages.invalidateAll();
+  }
+
+  /** Stats per cache, keyed by a short name. */
+  public Map<String, CacheStats> stats() {
+    Map<String, CacheStats> stats = new LinkedHashMap<>();
+    stats.put("faultPages", faultPages.stats());
+    stats.put("leaderPages", leaderPages.stats());
+    stats.put("faults", faults.stats());
+    stats.put("leaders", leaders.stats());
+    return stats;
+  }
+
+  /** Estimated entry count per cache, keyed like {@link #stats()}. */
+  public Map<String, Long> sizes() {
+    Map<String, Long> sizes = new LinkedHashMap<>();
+    sizes.put("faultPages", faultPages.estimatedSize());
+    sizes.put("leaderPages", leaderPages.estimatedSize());
+    sizes.put("faults", faults.estimatedSize());
+    sizes.put("leaders", leaders.estimatedSize());
+    return sizes;
+  }
+
+  private Map<Long, CachedFault> loadFaults(Set<? extends Long> ids) {
+    return readOnlyTransaction.execute(status -> {
+      Map<Long, CachedFault> loaded = new HashMap<>();
+      Map<Long, LeaderResponse> leaderEntries = new HashMap<>();
+      for (Fault fault : faultRepository.findWithLeadersByIdIn(
+        List.copyOf(ids)
+      )) {
+        loaded.put(fault.getId(), CachedFault.of(fault));
+        fault
+          .getLeaders()
+          .forEach(leader ->
+            leaderEntries.put(
+              leader.getId(),
+              LeaderResponse.fromLeader(leader, null)
+            )
+          );
+      }
+      // The graph fetched the leaders already; keep them for the join below
+      leaders.putAll(leaderEntries);
+      return loaded;
+    });
+  }
+
+  private Map<Long, LeaderResponse> loadLeaders(Set<? extends Long> ids) {
+    return readOnlyTransaction.execute(status -> {
+      Map<Long, LeaderResponse> loaded = new HashMap<>();
+      for (Leader leader : leaderRepository.findAllById(List.copyOf(ids))) {
+        loaded.put(leader.getId(), LeaderResponse.fromLeader(leader, null));
+      }
+      return loaded;
+    });
+  }
+
+  /** A fault without its leaders; they are joined in from the leader cache. */
+  private static class CachedFault {
+
+    private final FaultResponse response;
+    private final List<Long> leaderIds;
+
+    private CachedFault(FaultResponse response, List<Long> leaderIds) {
+      this.response = response;
+      this.leaderIds = leaderIds;
+    }
+
+    static CachedFault of(Fault fault) {
+      FaultResponse response = FaultResponse.fromFault(fault, null, 0);
+      response.setLeaders(null);
+      List<Long> leaderIds = fault.getLeaders() == null
+        ? List.<Long>of()
+        : fault
+          .getLeaders()
+          .stream()
+          .map(Leader::getId)
+          .collect(Collectors.<Long>toUnmodifiableList());
+      return new CachedFault(response, leaderIds);
+    }
+  }
+}
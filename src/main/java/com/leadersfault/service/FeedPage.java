@@ -0,0 +1,42 @@
+package com.leadersfault.service;
+
+import java.util.List;
+
+/**
+ * The ids on one feed page plus its pagination info. Pages are cached as ids
+ * only, so a change to one item never requires evicting the pages it is on.
+ */
+public class FeedPage {
+
+  private final List<Long> ids;
+  private final Integer pageCount;
+  private final String nextCursor;
+
+  private FeedPage(List<Long> ids, Integer pageCount, String nextCursor) {
+    this.ids = List.copyOf(ids);
+    this.pageCount = pageCount;
+    this.nextCursor = nextCursor;
+  }
+
+  public static FeedPage ofOffset(List<Long> ids, int pageCount) {
+    return new FeedPage(ids, pageCount, null);
+  }
+
+  public static FeedPage ofCursor(List<Long> ids, String nextCursor) {
+    return new FeedPage(ids, null, nextCursor);
+  }
+
+  public List<Long> getIds() {
+    return ids;
+  }
+
+  /** Null for keyset pages. */
+  public Integer getPageCount() {
+    return pageCount;
+  }
+
+  /** Null for offset pages and for the last keyset page. */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+}
@@ -0,0 +1,167 @@
+package com.leadersfault.service;
+
+import com.leadersfault.dto.NotificationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Broker-free {@link NotificationTransport} for single-node installs,
+ * selected by {@code notifications.transport=in-process}. Events go into a
+ * bounded ring buffer that one consumer thread drains in batches of up to
+ * {@code notifications.in-process.batch-size} into
+ * {@link NotificationDelivery}, in publish order.
+ *
+ * <p>A send's future completes only after its notification is stored, so the
+ * outbox keeps events that a crash would otherwise lose. When the buffer is
+ * full the send fails at once and the outbox relay retries it later; such
+ * rejections are counted in {@code notifications.bus.rejected}.
+ */
+@Service
+@ConditionalOnProperty(name = "notifications.transport", havingValue = "in-process")
+public class InProcessNotificationBus implements NotificationTransport {
+
+  private static final Logger logger = LoggerFactory.getLogger(
+    InProcessNotificationBus.class
+  );
+
+  private static final class Envelope {
+
+    private final NotificationEvent event;
+    private final NotificationTrace trace;
+    private final long publishedAt = System.nanoTime();
+    private final CompletableFuture<Void> delivered = new CompletableFuture<>();
+
+    private Envelope(NotificationEvent event, NotificationTrace trace) {
+      this.event = event;
+      this.trace = trace;
+    }
+  }
+
+  private final NotificationDelivery notificationDelivery;
+  private final NotificationLatency notificationLatency;
+  private final BlockingQueue<Envelope> queue;
+  private final int batchSize;
+  private final Counter rejected;
+  private final Thread consumer;
+  private volatile boolean running = true;
+
+  public InProcessNotificationBus(
+    NotificationDelivery notificationDelivery,
+    NotificationLatency notificationLatency,
+    MeterRegistry meterRegistry,
+    @Value("${notifications.in-process.capacity:8192}") int capacity,
+    @Value("${notifications.in-process.batch-size:500}") int batchSize
+  ) {
+    this.notificationDelivery = notificationDelivery;
+    this.notificationLatency = notificationLatency;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.batchSize = batchSize;
+    this.rejected =
+      Counter
+        .builder("notifications.bus.rejected")
+        .description("Sends rejected because the in-process bus was full")
+        .register(meterRegistry);
+    meterRegistry.gaugeCollectionSize(
+      "notifications.bus.size",
+      List.of(),
+      queue
+    );
+    this.consumer = new Thread(this::consume, "notification-bus");
+    this.consumer.setDaemon(true);
+  }
+
+  @PostConstruct
+  public void start() {
+    consumer.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    consumer.interrupt();
+    consumer.join(TimeUnit.SECONDS.toMillis(5));
+  }
+
+  @Override
+  public CompletableFuture<?> sendNotification(
+    NotificationEvent event,
+    NotificationTrace trace
+  ) {
+    notificationLatency.recordSince(
+      NotificationLatency.Stage.WRITE_TO_PUBLISH,
+      trace.getWrittenAtMicros()
+    );
+    Envelope envelope = new Envelope(event, trace);
+    if (!running || !queue.offer(envelope)) {
+      rejected.increment();
+      return CompletableFuture.failedFuture(
+        new RejectedExecutionException("In-process notification bus is full")
+      );
+    }
+    return envelope.delivered;
+  }
+
+  @Override
+  public int allowedSends(int wanted) {
+    return Math.min(wanted, queue.remainingCapacity());
+  }
+
+  private void consume() {
+    List<Envelope> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        batch.add(queue.take());
+      } catch (InterruptedException e) {
+        break;
+      }
+      queue.drainTo(batch, batchSize - 1);
+      deliver(batch);
+      batch.clear();
+    }
+    // Sends still queued at shutdown stay in the outbox for the next start
+    queue.drainTo(batch);
+    RejectedExecutionException stopped = new RejectedExecutionException(
+      "In-process notification bus stopped"
+    );
+    batch.forEach(envelope -> envelope.delivered.completeExceptionally(stopped));
+  }
+
+  private void deliver(List<Envelope> batch) {
+    List<NotificationEvent> events = new ArrayList<>(batch.size());
+    List<NotificationTrace> traces = new ArrayList<>(batch.size());
+    long now = System.nanoTime();
+    for (Envelope envelope : batch) {
+      notificationLatency.record(
+        NotificationLatency.Stage.TRANSIT,
+        now - envelope.publishedAt
+      );
+      events.add(envelope.event);
+      traces.add(envelope.trace);
+    }
+    try {
+      notificationDelivery.deliverBatch(events, traces);
+      batch.forEach(envelope -> envelope.delivered.complete(null));
+    } catch (Exception e) {
+      logger.error(
+        "❌ Failed to deliver {} notifications from the in-process bus: {}",
+        batch.size(),
+        e.toString()
+      );
+      batch.forEach(envelope -> envelope.delivered.completeExceptionally(e));
+    }
+  }
+}
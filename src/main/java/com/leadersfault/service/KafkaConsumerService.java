@@ -1,88 +1,96 @@
 package com.leadersfault.service;
 
+import com.leadersfault.config.KafkaConfig;
 import com.leadersfault.dto.NotificationEvent;
-import com.leadersfault.dto.NotificationResponse;
-import com.leadersfault.entity.Notification;
-import com.leadersfault.entity.NotificationType;
-import com.leadersfault.repository.NotificationRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 @Service
+@ConditionalOnProperty(
+  name = "notifications.transport",
+  havingValue = "kafka",
+  matchIfMissing = true
+)
 public class KafkaConsumerService {
 
   private static final Logger logger = LoggerFactory.getLogger(
     KafkaConsumerService.class
   );
+  private static final String TOPIC = KafkaConfig.NOTIFICATIONS_TOPIC;
+  private static final String GROUP_ID = "notification-consumer-group";
 
   @Autowired
-  private NotificationRepository notificationRepository;
+  private NotificationDelivery notificationDelivery;
 
   @Autowired
-  private WebSocketNotificationService webSocketNotificationService;
+  private NotificationLatency notificationLatency;
 
+  /**
+   * Default mode: persists a whole poll in one transaction and JDBC batch,
+   * then pushes each notification. Disabled by
+   * {@code notifications.consumer.batch=false}.
+   */
   @KafkaListener(
-    topics = "fault-notifications",
-    groupId = "notification-consumer-group"
+    id = "notifications-batch",
+    topics = TOPIC,
+    groupId = GROUP_ID,
+    containerFactory = "batchKafkaListenerContainerFactory",
+    autoStartup = "${notifications.consumer.batch:true}"
   )
-  public void consumeNotification(NotificationEvent event) {
-    logger.info(
-      "📥 Received notification event from Kafka - Type: {}, FaultId: {}, Recipient: {}",
-      event.getNotificationType(),
-      event.getFaultId(),
-      event.getFaultOwner()
-    );
-
-    // Create notification message based on type
-    String message = createMessage(event);
-
-    // Save notification to database
-    Notification notification = new Notification();
-    notification.setUserId(event.getFaultOwnerId());
-    notification.setMessage(message);
-    notification.setType(event.getNotificationType());
-    notification.setFaultId(event.getFaultId());
-    notification.setFaultTitle(event.getFaultTitle());
-    notification.setActionBy(event.getActionBy());
-    notification.setRead(false);
-
-    Notification savedNotification = notificationRepository.save(notification);
-    logger.info(
-      "💾 Notification saved to database - ID: {}, UserId: {}, Message: '{}'",
-      savedNotification.getId(),
-      savedNotification.getUserId(),
-      message
-    );
-
-    // Send real-time notification via Socket.IO
-    NotificationResponse response = convertToResponse(savedNotification);
-    webSocketNotificationService.sendNotificationToUser(
-      event.getFaultOwnerId(),
-      response
-    );
+  public void consumeNotifications(
+    List<ConsumerRecord<String, NotificationEvent>> records
+  ) {
+    List<NotificationEvent> events = new ArrayList<>(records.size());
+    List<NotificationTrace> traces = new ArrayList<>(records.size());
+    for (ConsumerRecord<String, NotificationEvent> record : records) {
+      traces.add(received(record));
+      events.add(record.value());
+    }
+    notificationDelivery.deliverBatch(events, traces);
   }
 
-  private String createMessage(NotificationEvent event) {
-    if (event.getNotificationType() == NotificationType.FAULT_LIKED) {
-      return event.getActionBy() + " agreed with the fault you posted";
-    } else {
-      return event.getActionBy() + " disagreed with the fault you posted";
-    }
+  /**
+   * Per-record mode: one insert and one transaction per event. Kept for
+   * comparison and enabled by {@code notifications.consumer.batch=false}.
+   */
+  @KafkaListener(
+    id = "notifications-record",
+    topics = TOPIC,
+    groupId = GROUP_ID,
+    autoStartup = "#{!${notifications.consumer.batch:true}}"
+  )
+  public void consumeNotification(
+    ConsumerRecord<String, NotificationEvent> record
+  ) {
+    NotificationTrace trace = received(record);
+    notificationDelivery.deliverOne(record.value(), trace);
   }
 
-  private NotificationResponse convertToResponse(Notification notification) {
-    NotificationResponse response = new NotificationResponse();
-    response.setId(notification.getId());
-    response.setMessage(notification.getMessage());
-    response.setType(notification.getType());
-    response.setFaultId(notification.getFaultId());
-    response.setFaultTitle(notification.getFaultTitle());
-    response.setActionBy(notification.getActionBy());
-    response.setRead(notification.isRead());
-    response.setCreatedAt(notification.getCreatedAt());
-    return response;
+  private NotificationTrace received(
+    ConsumerRecord<String, NotificationEvent> record
+  ) {
+    NotificationEvent event = record.value();
+    NotificationTrace trace = NotificationTrace.readFrom(record.headers());
+    if (trace != null) {
+      notificationLatency.recordSince(
+        NotificationLatency.Stage.TRANSIT,
+        trace.getPublishedAtMicros()
+      );
+    }
+    logger.info(
+      "📥 Received notification event from Kafka - Type: {}, FaultId: {}, Recipient: {}, Trace: {}",
+      event.getNotificationType(),
+      event.getFaultId(),
+      event.getFaultOwner(),
+      trace == null ? null : trace.getTraceId()
+    );
+    return trace;
   }
 }
@@ -1,42 +1,101 @@
 package com.leadersfault.service;
 
+import com.leadersfault.config.KafkaConfig;
 import com.leadersfault.dto.NotificationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
-public class KafkaProducerService {
+@ConditionalOnProperty(
+  name = "notifications.transport",
+  havingValue = "kafka",
+  matchIfMissing = true
+)
+public class KafkaProducerService implements NotificationTransport {
 
   private static final Logger logger = LoggerFactory.getLogger(
     KafkaProducerService.class
   );
-  private static final String TOPIC = "fault-notifications";
+  private static final String TOPIC = KafkaConfig.NOTIFICATIONS_TOPIC;
 
   @Autowired
   private KafkaTemplate<String, NotificationEvent> kafkaTemplate;
 
-  public void sendNotification(NotificationEvent event) {
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private NotificationLatency notificationLatency;
+
+  @Autowired
+  private ProducerCircuitBreaker circuitBreaker;
+
+  /**
+   * Publishes {@code event} with {@code trace} stamped into the record
+   * headers, so the consumer can continue the trace. The returned future
+   * completes when the broker acknowledges the record and fails if the send
+   * does; it never throws. While the circuit breaker is open the future
+   * fails at once and nothing is sent.
+   */
+  @Override
+  public CompletableFuture<?> sendNotification(
+    NotificationEvent event,
+    NotificationTrace trace
+  ) {
+    if (!circuitBreaker.tryAcquire()) {
+      return CompletableFuture.failedFuture(
+        new IllegalStateException("Kafka producer circuit breaker is open")
+      );
+    }
     logger.info(
-      "📤 Publishing notification event to Kafka - Type: {}, FaultId: {}, Owner: {}, ActionBy: {}",
+      "📤 Publishing notification event to Kafka - Type: {}, FaultId: {}, Owner: {}, ActionBy: {}, Trace: {}",
       event.getNotificationType(),
       event.getFaultId(),
       event.getFaultOwner(),
-      event.getActionBy()
+      event.getActionBy(),
+      trace.getTraceId()
     );
+    // Keyed by recipient so each user's notifications keep their order
+    ProducerRecord<String, NotificationEvent> record = new ProducerRecord<>(
+      TOPIC,
+      String.valueOf(event.getFaultOwnerId()),
+      event
+    );
+    trace.writeTo(record.headers(), NotificationTrace.nowMicros());
+    notificationLatency.recordSince(
+      NotificationLatency.Stage.WRITE_TO_PUBLISH,
+      trace.getWrittenAtMicros()
+    );
+
+    // Measured from send() until the broker acknowledges or the send fails
+    Timer.Sample sample = Timer.start(meterRegistry);
+    long sentAt = System.nanoTime();
     try {
       // kafkaTemplate.send(...) returns a CompletableFuture in this project; use whenComplete
-      kafkaTemplate
-        .send(TOPIC, event)
+      return kafkaTemplate
+        .send(record)
         .whenComplete((result, ex) -> {
+          sample.stop(sendTimer(ex == null ? "success" : "failure"));
           if (ex != null) {
+            circuitBreaker.onFailure();
             logger.error(
               "❌ Failed to publish notification event to Kafka: {}",
               ex.toString()
             );
           } else {
+            circuitBreaker.onSuccess();
+            notificationLatency.record(
+              NotificationLatency.Stage.PUBLISH_ACK,
+              System.nanoTime() - sentAt
+            );
             logger.info(
               "✅ Notification event published successfully to topic: {}",
               TOPIC
@@ -44,11 +103,28 @@ public class KafkaProducerService {
           }
         });
     } catch (Exception e) {
+      sample.stop(sendTimer("failure"));
+      circuitBreaker.onFailure();
       // Protect callers from Kafka outages by logging the error and proceeding.
       logger.error(
-        "❌ Exception while sending notification to Kafka (will be ignored): {}",
+        "❌ Exception while sending notification to Kafka: {}",
         e.toString()
       );
+      return CompletableFuture.failedFuture(e);
     }
   }
+
+  @Override
+  public int allowedSends(int wanted) {
+    return circuitBreaker.allowedSends(wanted);
+  }
+
+  private Timer sendTimer(String result) {
+    return Timer
+      .builder("kafka.producer.send")
+      .description("Time from send until the broker acknowledges the record")
+      .tag("topic", TOPIC)
+      .tag("result", result)
+      .register(meterRegistry);
+  }
 }
@@ -0,0 +1,43 @@
+package com.leadersfault.service;
+
+import com.leadersfault.entity.LeaderVote;
+import com.leadersfault.repository.LeaderRepository;
+import com.leadersfault.repository.LeaderVoteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class LeaderVoteService {
+
+  @Autowired
+  private LeaderRepository leaderRepository;
+
+  @Autowired
+  private LeaderVoteRepository leaderVoteRepository;
+
+  /**
+   * Records the user's vote on a leader, switching an opposite vote if one
+   * exists. Repeating the current vote is {@link VoteTransition#UNCHANGED};
+   * leader votes cannot be withdrawn.
+   */
+  @Transactional
+  public VoteTransition vote(Long leaderId, Long userId, short value) {
+    int likeDelta = value == LeaderVote.LIKE ? 1 : 0;
+    int dislikeDelta = value == LeaderVote.DISLIKE ? 1 : 0;
+
+    if (leaderVoteRepository.switchVote(leaderId, userId, value) == 1) {
+      leaderRepository.adjustVoteCounts(
+        leaderId,
+        likeDelta - dislikeDelta,
+        dislikeDelta - likeDelta
+      );
+      return VoteTransition.SWITCHED;
+    }
+    if (leaderVoteRepository.insertVote(leaderId, userId, value) == 1) {
+      leaderRepository.adjustVoteCounts(leaderId, likeDelta, dislikeDelta);
+      return VoteTransition.CAST;
+    }
+    return VoteTransition.UNCHANGED;
+  }
+}
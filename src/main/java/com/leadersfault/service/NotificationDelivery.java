@@ -0,0 +1,313 @@
+package com.leadersfault.service;
+
+import com.leadersfault.dto.NotificationEvent;
+import com.leadersfault.dto.NotificationResponse;
+import com.leadersfault.entity.Notification;
+import com.leadersfault.entity.NotificationActor;
+import com.leadersfault.entity.NotificationType;
+import com.leadersfault.repository.NotificationActorRepository;
+import com.leadersfault.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The consumer side of every {@link NotificationTransport}: stores received
+ * events as notifications and pushes them to their recipients over
+ * Socket.IO. Traces may be null for events published without one.
+ *
+ * <p>Votes on one fault coalesce per recipient and type. Events for the same
+ * recipient, fault and type within a batch become one notification, and that
+ * notification is folded into the recipient's unread one for the same pair
+ * if it was touched within {@code notifications.coalesce.window}, as in
+ * "X and 241 others agreed". Each voter is recorded in
+ * {@code notification_actors}, so one who votes again is not counted twice.
+ * So a viral fault costs a few row writes and one push per batch rather
+ * than per vote. Transports deliver each recipient's
+ * events on one thread, so the read-modify-write does not race. A zero
+ * window turns coalescing off.
+ */
+@Service
+public class NotificationDelivery {
+
+  private static final Logger logger = LoggerFactory.getLogger(
+    NotificationDelivery.class
+  );
+
+  /** Votes on one fault by one kind, for one recipient. */
+  private static final class Burst {
+
+    private final NotificationEvent first;
+    private NotificationEvent latest;
+    private final Set<String> actors = new HashSet<>();
+    private final List<NotificationTrace> traces = new ArrayList<>();
+    /** Null if the burst changed nothing. */
+    private Notification notification;
+
+    private Burst(NotificationEvent first) {
+      this.first = first;
+    }
+  }
+
+  private final NotificationRepository notificationRepository;
+  private final NotificationActorRepository notificationActorRepository;
+  private final WebSocketNotificationService webSocketNotificationService;
+  private final NotificationLatency notificationLatency;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration coalesceWindow;
+  private final Counter coalesced;
+
+  public NotificationDelivery(
+    NotificationRepository notificationRepository,
+    NotificationActorRepository notificationActorRepository,
+    WebSocketNotificationService webSocketNotificationService,
+    NotificationLatency notificationLatency,
+    TransactionTemplate transactionTemplate,
+    MeterRegistry meterRegistry,
+    @Value("${notifications.coalesce.window:10m}") Duration coalesceWindow
+  ) {
+    this.notificationRepository = notificationRepository;
+    this.notificationActorRepository = notificationActorRepository;
+    this.webSocketNotificationService = webSocketNotificationService;
+    this.notificationLatency = notificationLatency;
+    this.transactionTemplate = transactionTemplate;
+    this.coalesceWindow = coalesceWindow;
+    this.coalesced =
+      Counter
+        .builder("notifications.coalesced")
+        .description("Vote events folded into another event's notification")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Stores the whole batch in one transaction and JDBC batch, then pushes
+   * one notification per burst. {@code traces} is parallel to
+   * {@code events}.
+   */
+  public void deliverBatch(
+    List<NotificationEvent> events,
+    List<NotificationTrace> traces
+  ) {
+    Map<Object, Burst> bursts = new LinkedHashMap<>();
+    for (int i = 0; i < events.size(); i++) {
+      NotificationEvent event = events.get(i);
+      Object key = coalesceWindow.isZero() ? i : keyOf(event);
+      Burst burst = bursts.computeIfAbsent(key, k -> new Burst(event));
+      burst.latest = event;
+      burst.actors.add(event.getActionBy());
+      burst.traces.add(traces.get(i));
+    }
+
+    long insertStart = System.nanoTime();
+    int inserted = transactionTemplate.execute(status -> store(bursts));
+    long insertNanos = System.nanoTime() - insertStart;
+    coalesced.increment(events.size() - inserted);
+    logger.info(
+      "💾 {} notification events saved to database as {} new and {} updated notifications",
+      events.size(),
+      inserted,
+      bursts.size() - inserted
+    );
+
+    for (Burst burst : bursts.values()) {
+      if (burst.notification != null) {
+        push(burst.notification);
+      }
+      for (NotificationTrace trace : burst.traces) {
+        // Every event in the batch waited for the whole write
+        notificationLatency.record(
+          NotificationLatency.Stage.DB_INSERT,
+          insertNanos
+        );
+        closeTrace(trace);
+      }
+    }
+  }
+
+  /** A single event, as from the per-record Kafka listener. */
+  public void deliverOne(NotificationEvent event, NotificationTrace trace) {
+    deliverBatch(List.of(event), Collections.singletonList(trace));
+  }
+
+  /**
+   * Folds each burst into its recipient's recent unread notification, or a
+   * new one, and saves them. Returns how many notifications were inserted.
+   */
+  private int store(Map<Object, Burst> bursts) {
+    Map<Object, Notification> recent = coalesceWindow.isZero()
+      ? Map.of()
+      : findRecent(bursts.values());
+
+    // Recorded before any row changes, as each insert flushes the session
+    Map<Object, Integer> newActors = new HashMap<>();
+    for (Map.Entry<Object, Burst> entry : bursts.entrySet()) {
+      Notification notification = recent.get(entry.getKey());
+      if (notification != null) {
+        newActors.put(
+          entry.getKey(),
+          notificationActorRepository.addActors(
+            notification.getId(),
+            entry.getValue().actors.toArray(String[]::new)
+          )
+        );
+      }
+    }
+
+    List<Notification> created = new ArrayList<>();
+    List<Burst> fresh = new ArrayList<>();
+    LocalDateTime now = LocalDateTime.now();
+    for (Map.Entry<Object, Burst> entry : bursts.entrySet()) {
+      Burst burst = entry.getValue();
+      Notification notification = recent.get(entry.getKey());
+      int added;
+      if (notification == null) {
+        notification = toNotification(burst.first);
+        notification.setActorCount(0);
+        created.add(notification);
+        fresh.add(burst);
+        added = burst.actors.size();
+      } else {
+        added = newActors.get(entry.getKey());
+        if (added == 0) {
+          // Only voters already counted, e.g. after withdrawing a vote
+          continue;
+        }
+        // Resurfaces the notification at the top of the recipient's list
+        notification.setCreatedAt(now);
+      }
+      notification.setActorCount(notification.getActorCount() + added);
+      notification.setActionBy(burst.latest.getActionBy());
+      notification.setMessage(
+        createMessage(
+          notification.getType(),
+          notification.getActionBy(),
+          notification.getActorCount()
+        )
+      );
+      burst.notification = notification;
+    }
+    // Managed rows loaded above are updated on commit, in the same batch
+    notificationRepository.saveAll(created);
+    if (!coalesceWindow.isZero()) {
+      // Pooled ids are assigned on save, so the voters go in the same batch
+      List<NotificationActor> actors = new ArrayList<>();
+      for (Burst burst : fresh) {
+        for (String actor : burst.actors) {
+          actors.add(new NotificationActor(burst.notification.getId(), actor));
+        }
+      }
+      notificationActorRepository.saveAll(actors);
+    }
+    return created.size();
+  }
+
+  private Map<Object, Notification> findRecent(Iterable<Burst> bursts) {
+    Set<Long> userIds = new HashSet<>();
+    Set<Long> faultIds = new HashSet<>();
+    for (Burst burst : bursts) {
+      userIds.add(burst.first.getFaultOwnerId());
+      faultIds.add(burst.first.getFaultId());
+    }
+    Map<Object, Notification> recent = new HashMap<>();
+    for (Notification notification : notificationRepository.findUnreadSince(
+      userIds,
+      faultIds,
+      LocalDateTime.now().minus(coalesceWindow)
+    )) {
+      // Keep the newest if several unread ones match
+      recent.merge(
+        List.of(
+          notification.getUserId(),
+          notification.getFaultId(),
+          notification.getType()
+        ),
+        notification,
+        (a, b) -> a.getCreatedAt().isAfter(b.getCreatedAt()) ? a : b
+      );
+    }
+    return recent;
+  }
+
+  private static Object keyOf(NotificationEvent event) {
+    return List.of(
+      event.getFaultOwnerId(),
+      event.getFaultId(),
+      event.getNotificationType()
+    );
+  }
+
+  private Notification toNotification(NotificationEvent event) {
+    Notification notification = new Notification();
+    notification.setUserId(event.getFaultOwnerId());
+    notification.setType(event.getNotificationType());
+    notification.setFaultId(event.getFaultId());
+    notification.setFaultTitle(event.getFaultTitle());
+    notification.setActionBy(event.getActionBy());
+    notification.setRead(false);
+    return notification;
+  }
+
+  /** Sends the real-time push via Socket.IO. */
+  private void push(Notification notification) {
+    webSocketNotificationService.sendNotificationToUser(
+      notification.getUserId(),
+      convertToResponse(notification)
+    );
+  }
+
+  private void closeTrace(NotificationTrace trace) {
+    if (trace != null) {
+      notificationLatency.recordSince(
+        NotificationLatency.Stage.END_TO_END,
+        trace.getWrittenAtMicros()
+      );
+    }
+  }
+
+  /** "X agreed with…", or "X and N others agreed with…" once coalesced. */
+  private static String createMessage(
+    NotificationType type,
+    String actionBy,
+    int actorCount
+  ) {
+    String actors = actionBy;
+    if (actorCount == 2) {
+      actors += " and 1 other";
+    } else if (actorCount > 2) {
+      actors += " and " + (actorCount - 1) + " others";
+    }
+    if (type == NotificationType.FAULT_LIKED) {
+      return actors + " agreed with the fault you posted";
+    } else {
+      return actors + " disagreed with the fault you posted";
+    }
+  }
+
+  private NotificationResponse convertToResponse(Notification notification) {
+    NotificationResponse response = new NotificationResponse();
+    response.setId(notification.getId());
+    response.setMessage(notification.getMessage());
+    response.setType(notification.getType());
+    response.setFaultId(notification.getFaultId());
+    response.setFaultTitle(notification.getFaultTitle());
+    response.setActionBy(notification.getActionBy());
+    response.setActorCount(notification.getActorCount());
+    response.setRead(notification.isRead());
+    response.setCreatedAt(notification.getCreatedAt());
+    return response;
+  }
+}
@@ -0,0 +1,74 @@
+package com.leadersfault.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Histograms of where vote-to-push latency goes, as the
+ * {@code notification.delivery} timer tagged by {@code stage}. Stages that
+ * span processes are computed from {@link NotificationTrace} wall-clock
+ * stamps, so they include any clock skew between the producing and
+ * consuming instances.
+ */
+@Component
+public class NotificationLatency {
+
+  public enum Stage {
+    /** Vote write, just before it commits, until the event is handed over. */
+    WRITE_TO_PUBLISH("write_to_publish"),
+    /** Producer send until the broker acknowledges. */
+    PUBLISH_ACK("publish_ack"),
+    /** Transport send until the consumer receives it, Kafka or in-process. */
+    TRANSIT("transit"),
+    /** Inserting the notification row. */
+    DB_INSERT("db_insert"),
+    /** Emitting the Socket.IO event to the owner's room. */
+    SOCKET_EMIT("socket_emit"),
+    /** Vote write until the Socket.IO emit returns. */
+    END_TO_END("end_to_end");
+
+    private final String tag;
+
+    Stage(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+
+  public NotificationLatency(MeterRegistry meterRegistry) {
+    for (Stage stage : Stage.values()) {
+      timers.put(
+        stage,
+        Timer
+          .builder("notification.delivery")
+          .description("Vote-to-push notification latency by stage")
+          .tag("stage", stage.tag)
+          .register(meterRegistry)
+      );
+    }
+  }
+
+  public void record(Stage stage, long nanos) {
+    timers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Records the time from {@code sinceMicros}, an epoch-microsecond stamp,
+   * until now. Unknown (zero) stamps and negative spans from clock skew are
+   * skipped.
+   */
+  public void recordSince(Stage stage, long sinceMicros) {
+    if (sinceMicros <= 0) {
+      return;
+    }
+    long elapsed = NotificationTrace.nowMicros() - sinceMicros;
+    if (elapsed >= 0) {
+      timers.get(stage).record(elapsed, TimeUnit.MICROSECONDS);
+    }
+  }
+}
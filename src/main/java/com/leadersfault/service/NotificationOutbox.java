@@ -0,0 +1,126 @@
+package com.leadersfault.service;
+
+import com.leadersfault.entity.Fault;
+import com.leadersfault.entity.NotificationOutboxEntry;
+import com.leadersfault.entity.NotificationType;
+import com.leadersfault.repository.FaultRepository;
+import com.leadersfault.repository.NotificationOutboxRepository;
+import com.leadersfault.repository.UserRepository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Records vote notifications in the {@code notification_outbox} table as
+ * part of the vote's own transaction, so a notification exists exactly when
+ * the vote does. {@link NotificationOutboxRelay} publishes the rows
+ * and is woken as soon as the transaction commits.
+ *
+ * <p>Each row is written under a lock on the recipient's {@code users} row,
+ * held until the vote commits. Votes notifying the same recipient therefore
+ * commit one after the other, and each draws a higher outbox id than the
+ * last, which is the order the relay delivers them in.
+ */
+@Service
+public class NotificationOutbox {
+
+  private static final Logger logger = LoggerFactory.getLogger(
+    NotificationOutbox.class
+  );
+
+  private final FaultRepository faultRepository;
+  private final NotificationOutboxRepository outboxRepository;
+  private final UserRepository userRepository;
+  private final UserIdLookup userIdLookup;
+  private final NotificationOutboxRelay relay;
+
+  public NotificationOutbox(
+    FaultRepository faultRepository,
+    NotificationOutboxRepository outboxRepository,
+    UserRepository userRepository,
+    UserIdLookup userIdLookup,
+    NotificationOutboxRelay relay
+  ) {
+    this.faultRepository = faultRepository;
+    this.outboxRepository = outboxRepository;
+    this.userRepository = userRepository;
+    this.userIdLookup = userIdLookup;
+    this.relay = relay;
+  }
+
+  /**
+   * Queues a notification to the owner of {@code faultId} that
+   * {@code username} voted on it. Self-votes and faults whose owner no longer
+   * exists are skipped.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueueVote(Long faultId, String username, boolean isLike) {
+    Optional<Fault> optionalFault = faultRepository.findById(faultId);
+    if (optionalFault.isEmpty()) {
+      return;
+    }
+    Fault fault = optionalFault.get();
+
+    // Send notification only if user is not the fault owner (no self-notifications)
+    if (fault.getUploadedBy().equals(username)) {
+      logger.debug(
+        "🔇 Skipping self-notification - User '{}' {} their own fault",
+        username,
+        isLike ? "liked" : "disliked"
+      );
+      return;
+    }
+    // Also takes the recipient's lock before the outbox id is drawn
+    Optional<Long> faultOwnerId = userIdLookup
+      .findUserId(fault.getUploadedBy())
+      .flatMap(userRepository::lockById);
+    if (faultOwnerId.isEmpty()) {
+      logger.warn(
+        "⚠️ Fault owner '{}' not found in database, notification not sent",
+        fault.getUploadedBy()
+      );
+      return;
+    }
+
+    logger.info(
+      "🚀 Notification triggered - User '{}' {} fault '{}' (ID: {}) owned by '{}'",
+      username,
+      isLike ? "liked" : "disliked",
+      fault.getTitle(),
+      fault.getId(),
+      fault.getUploadedBy()
+    );
+    // Stamped inside the transaction, so latency starts just before commit
+    NotificationTrace trace = NotificationTrace.voteWritten(
+      NotificationTrace.nowMicros()
+    );
+    NotificationOutboxEntry entry = new NotificationOutboxEntry();
+    entry.setNotificationType(
+      isLike ? NotificationType.FAULT_LIKED : NotificationType.FAULT_DISLIKED
+    );
+    entry.setFaultId(fault.getId());
+    entry.setFaultTitle(fault.getTitle());
+    entry.setFaultOwner(fault.getUploadedBy());
+    entry.setFaultOwnerId(faultOwnerId.get());
+    entry.setActionBy(username);
+    entry.setCreatedAt(LocalDateTime.now());
+    entry.setTraceId(trace.getTraceId());
+    entry.setWrittenAtMicros(trace.getWrittenAtMicros());
+    outboxRepository.save(entry);
+
+    TransactionSynchronizationManager.registerSynchronization(
+      new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          relay.wakeUp();
+        }
+      }
+    );
+  }
+}
@@ -0,0 +1,249 @@
+package com.leadersfault.service;
+
+import com.leadersfault.dto.NotificationEvent;
+import com.leadersfault.entity.NotificationOutboxEntry;
+import com.leadersfault.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes {@code notification_outbox} rows through the
+ * {@link NotificationTransport}, lowest id first, and deletes them once the
+ * transport has acknowledged the whole batch, so every
+ * committed vote is notified at least once. A failed batch is rolled back
+ * and retried after {@code notifications.outbox.retry-backoff}; records it
+ * already published are sent again, which consumers see as duplicates.
+ *
+ * <p>Each batch runs in a transaction holding a Postgres advisory lock, so
+ * across instances only one relay publishes at a time. {@link
+ * NotificationOutbox} draws a recipient's ids in the order its votes commit,
+ * so every batch holds each recipient's committed rows as an unbroken run
+ * in vote order. Both transports keep one recipient's events in send
+ * order; Kafka through the recipient-id key. The relay polls every
+ * {@code notifications.outbox.poll-interval} and is also woken right after
+ * each vote commits.
+ *
+ * <p>The outbox doubles as the spill journal for Kafka outages: while
+ * {@link ProducerCircuitBreaker} is open the transport allows no sends, so
+ * rows accumulate, and once its open period is over a one-row batch serves
+ * as the probe.
+ */
+@Component
+public class NotificationOutboxRelay {
+
+  private static final Logger logger = LoggerFactory.getLogger(
+    NotificationOutboxRelay.class
+  );
+
+  // Arbitrary, but must not collide with other advisory lock users
+  static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+  private final NotificationOutboxRepository outboxRepository;
+  private final NotificationTransport transport;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final Duration pollInterval;
+  private final Duration sendTimeout;
+  private final Duration retryBackoff;
+
+  private final Counter relayed;
+  private final Counter failures;
+  private final Timer batchTimer;
+  private final DistributionSummary batchSizes;
+
+  private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+  private long pausedUntil;
+
+  private final ScheduledExecutorService relayThread = Executors.newSingleThreadScheduledExecutor(
+    runnable -> {
+      Thread thread = new Thread(runnable, "notification-outbox-relay");
+      thread.setDaemon(true);
+      return thread;
+    }
+  );
+
+  public NotificationOutboxRelay(
+    NotificationOutboxRepository outboxRepository,
+    NotificationTransport transport,
+    TransactionTemplate transactionTemplate,
+    MeterRegistry meterRegistry,
+    @Value("${notifications.outbox.batch-size:500}") int batchSize,
+    @Value("${notifications.outbox.poll-interval:200ms}") Duration pollInterval,
+    @Value("${notifications.outbox.send-timeout:10s}") Duration sendTimeout,
+    @Value("${notifications.outbox.retry-backoff:5s}") Duration retryBackoff
+  ) {
+    this.outboxRepository = outboxRepository;
+    this.transport = transport;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    this.pollInterval = pollInterval;
+    this.sendTimeout = sendTimeout;
+    this.retryBackoff = retryBackoff;
+
+    this.relayed =
+      Counter
+        .builder("notifications.outbox.relayed")
+        .description("Outbox rows published and deleted")
+        .register(meterRegistry);
+    this.failures =
+      Counter
+        .builder("notifications.outbox.failures")
+        .description("Outbox batches rolled back for a retry")
+        .register(meterRegistry);
+    this.batchTimer =
+      Timer
+        .builder("notifications.outbox.batch")
+        .description("Time to read, publish and delete one outbox batch")
+        .register(meterRegistry);
+    this.batchSizes =
+      DistributionSummary
+        .builder("notifications.outbox.batch.size")
+        .description("Rows relayed per outbox batch")
+        .register(meterRegistry);
+    Gauge
+      .builder(
+        "notifications.outbox.backlog",
+        outboxRepository,
+        NotificationOutboxRepository::count
+      )
+      .description("Outbox rows waiting to be relayed")
+      .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    long intervalMs = pollInterval.toMillis();
+    relayThread.scheduleWithFixedDelay(
+      this::drain,
+      intervalMs,
+      intervalMs,
+      TimeUnit.MILLISECONDS
+    );
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    relayThread.shutdown();
+    relayThread.awaitTermination(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /** Relays promptly instead of at the next poll; called after each vote. */
+  public void wakeUp() {
+    if (wakeUpPending.compareAndSet(false, true)) {
+      try {
+        relayThread.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        // Shutting down; the rows stay in the outbox for the next start
+        wakeUpPending.set(false);
+      }
+    }
+  }
+
+  /** Relays full batches back to back until the outbox is drained. */
+  private void drain() {
+    wakeUpPending.set(false);
+    if (System.nanoTime() - pausedUntil < 0) {
+      return;
+    }
+    try {
+      Integer count;
+      do {
+        // While the transport accepts nothing the rows wait in the outbox
+        int limit = transport.allowedSends(batchSize);
+        if (limit == 0) {
+          return;
+        }
+        count = transactionTemplate.execute(status -> relayBatch(limit));
+      } while (count != null && count == batchSize);
+    } catch (Exception e) {
+      failures.increment();
+      pausedUntil = System.nanoTime() + retryBackoff.toNanos();
+      logger.warn(
+        "⚠️ Outbox relay failed, retrying in {}: {}",
+        retryBackoff,
+        e.toString()
+      );
+    }
+  }
+
+  /**
+   * Publishes the oldest rows and deletes them after every send is
+   * acknowledged; any failure throws and rolls the deletes back. Returns the
+   * number of rows relayed, or 0 if another instance holds the relay lock.
+   */
+  private int relayBatch(int limit) {
+    if (!outboxRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+      return 0;
+    }
+    List<NotificationOutboxEntry> entries = outboxRepository.findOldest(limit);
+    if (entries.isEmpty()) {
+      return 0;
+    }
+
+    Timer.Sample sample = Timer.start();
+    List<CompletableFuture<?>> sends = new ArrayList<>(entries.size());
+    List<Long> ids = new ArrayList<>(entries.size());
+    for (NotificationOutboxEntry entry : entries) {
+      CompletableFuture<?> send = transport.sendNotification(
+        toEvent(entry),
+        NotificationTrace.of(entry.getTraceId(), entry.getWrittenAtMicros())
+      );
+      sends.add(send);
+      ids.add(entry.getId());
+      // A send rejected or failed up front fails the batch; stop sending
+      if (send.isCompletedExceptionally()) {
+        break;
+      }
+    }
+    try {
+      CompletableFuture
+        .allOf(sends.toArray(CompletableFuture[]::new))
+        .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while publishing", e);
+    } catch (Exception e) {
+      throw new IllegalStateException(
+        "Publishing " + sends.size() + " outbox rows failed",
+        e
+      );
+    }
+    outboxRepository.deleteAllByIdInBatch(ids);
+
+    sample.stop(batchTimer);
+    batchSizes.record(entries.size());
+    relayed.increment(entries.size());
+    return entries.size();
+  }
+
+  private static NotificationEvent toEvent(NotificationOutboxEntry entry) {
+    return new NotificationEvent(
+      entry.getNotificationType(),
+      entry.getFaultId(),
+      entry.getFaultTitle(),
+      entry.getFaultOwner(),
+      entry.getFaultOwnerId(),
+      entry.getActionBy(),
+      entry.getCreatedAt()
+    );
+  }
+}
@@ -0,0 +1,29 @@
+package com.leadersfault.service;
+
+import com.leadersfault.repository.NotificationActorRepository;
+import com.leadersfault.repository.NotificationRepository;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class NotificationService {
+
+  @Autowired
+  private NotificationRepository notificationRepository;
+
+  @Autowired
+  private NotificationActorRepository notificationActorRepository;
+
+  /**
+   * Deletes a notification with its actor rows in one transaction, so a
+   * failure never leaves a notification without the voters it counts. Bulk
+   * deletes skip delete()'s second lookup of the row.
+   */
+  @Transactional
+  public void deleteNotification(Long id) {
+    notificationActorRepository.deleteByNotificationId(id);
+    notificationRepository.deleteAllByIdInBatch(List.of(id));
+  }
+}
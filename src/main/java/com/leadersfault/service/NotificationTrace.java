@@ -0,0 +1,116 @@
+package com.leadersfault.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Trace context of one vote notification: a trace id plus the wall-clock
+ * times, in epoch microseconds, at which the vote was written and the event
+ * was handed to Kafka. It travels in record headers rather than in
+ * {@link com.leadersfault.dto.NotificationEvent}, so the payload stays as
+ * clients see it.
+ */
+public final class NotificationTrace {
+
+  public static final String TRACE_ID_HEADER = "trace-id";
+  public static final String WRITTEN_AT_HEADER = "vote-written-at";
+  public static final String PUBLISHED_AT_HEADER = "published-at";
+
+  private final String traceId;
+  private final long writtenAtMicros;
+  private final long publishedAtMicros;
+
+  private NotificationTrace(
+    String traceId,
+    long writtenAtMicros,
+    long publishedAtMicros
+  ) {
+    this.traceId = traceId;
+    this.writtenAtMicros = writtenAtMicros;
+    this.publishedAtMicros = publishedAtMicros;
+  }
+
+  /**
+   * Starts a trace for a vote written at {@code writtenAtMicros}, inside its
+   * transaction and so a little before it commits.
+   */
+  public static NotificationTrace voteWritten(long writtenAtMicros) {
+    return new NotificationTrace(
+      UUID.randomUUID().toString().replace("-", ""),
+      writtenAtMicros,
+      0
+    );
+  }
+
+  /** Resumes a trace stored before publishing, as by the outbox. */
+  public static NotificationTrace of(String traceId, long writtenAtMicros) {
+    return new NotificationTrace(traceId, writtenAtMicros, 0);
+  }
+
+  /**
+   * Reads the trace written by {@link #writeTo}, or returns null for records
+   * published without one.
+   */
+  public static NotificationTrace readFrom(Headers headers) {
+    String traceId = text(headers.lastHeader(TRACE_ID_HEADER));
+    if (traceId == null) {
+      return null;
+    }
+    return new NotificationTrace(
+      traceId,
+      micros(headers.lastHeader(WRITTEN_AT_HEADER)),
+      micros(headers.lastHeader(PUBLISHED_AT_HEADER))
+    );
+  }
+
+  /** Stamps the headers of a record being published now. */
+  public void writeTo(Headers headers, long publishedAtMicros) {
+    headers.add(TRACE_ID_HEADER, bytes(traceId));
+    headers.add(WRITTEN_AT_HEADER, bytes(Long.toString(writtenAtMicros)));
+    headers.add(PUBLISHED_AT_HEADER, bytes(Long.toString(publishedAtMicros)));
+  }
+
+  public static long nowMicros() {
+    return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+  }
+
+  public String getTraceId() {
+    return traceId;
+  }
+
+  /** Zero if unknown. */
+  public long getWrittenAtMicros() {
+    return writtenAtMicros;
+  }
+
+  /** Zero if unknown or not yet published. */
+  public long getPublishedAtMicros() {
+    return publishedAtMicros;
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String text(Header header) {
+    return header == null || header.value() == null
+      ? null
+      : new String(header.value(), StandardCharsets.UTF_8);
+  }
+
+  private static long micros(Header header) {
+    String value = text(header);
+    if (value == null) {
+      return 0;
+    }
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+}
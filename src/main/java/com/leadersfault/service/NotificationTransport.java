@@ -0,0 +1,27 @@
+package com.leadersfault.service;
+
+import com.leadersfault.dto.NotificationEvent;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries vote notifications from {@link NotificationOutboxRelay} to
+ * {@link NotificationDelivery}. {@code notifications.transport} selects
+ * {@link KafkaProducerService} ({@code kafka}, the default) or
+ * {@link InProcessNotificationBus} ({@code in-process}).
+ */
+public interface NotificationTransport {
+  /**
+   * Hands {@code event} over for delivery. The future completes once the
+   * transport has durably accepted it, and fails if it cannot; the outbox
+   * row is only deleted after that, so this method must never throw.
+   */
+  CompletableFuture<?> sendNotification(
+    NotificationEvent event,
+    NotificationTrace trace
+  );
+
+  /** How many of {@code wanted} sends the transport will accept right now. */
+  default int allowedSends(int wanted) {
+    return wanted;
+  }
+}
@@ -0,0 +1,128 @@
+package com.leadersfault.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops {@link KafkaProducerService} from sending while the broker is
+ * unreachable, so callers fail at once instead of each waiting out
+ * {@code max.block.ms}. After {@code failure-threshold} consecutive failed
+ * sends the breaker opens and rejects sends; once {@code open-duration} has
+ * passed it admits a single probe, whose outcome closes or reopens it.
+ *
+ * <p>The state is exported as {@code kafka.producer.circuit.state} (0
+ * closed, 1 open, 2 half-open) and rejections as
+ * {@code kafka.producer.circuit.rejected}.
+ */
+@Component
+@ConditionalOnProperty(
+  name = "notifications.transport",
+  havingValue = "kafka",
+  matchIfMissing = true
+)
+public class ProducerCircuitBreaker {
+
+  private static final Logger logger = LoggerFactory.getLogger(
+    ProducerCircuitBreaker.class
+  );
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    /** A probe send is in flight. */
+    HALF_OPEN,
+  }
+
+  private final int failureThreshold;
+  private final long openNanos;
+  private final Counter rejected;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAt;
+
+  public ProducerCircuitBreaker(
+    MeterRegistry meterRegistry,
+    @Value("${notifications.producer.circuit-breaker.failure-threshold:5}") int failureThreshold,
+    @Value("${notifications.producer.circuit-breaker.open-duration:30s}") Duration openDuration
+  ) {
+    this.failureThreshold = failureThreshold;
+    this.openNanos = openDuration.toNanos();
+    this.rejected =
+      Counter
+        .builder("kafka.producer.circuit.rejected")
+        .description("Sends rejected because the circuit breaker was open")
+        .register(meterRegistry);
+    Gauge
+      .builder("kafka.producer.circuit.state", this, b -> b.state().ordinal())
+      .description("Producer circuit breaker: 0 closed, 1 open, 2 half-open")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Whether a send may go ahead. Once the open period is over, the first
+   * caller gets through as the probe and moves the breaker to half-open.
+   * Every admitted send must be followed by {@link #onSuccess} or
+   * {@link #onFailure}.
+   */
+  public synchronized boolean tryAcquire() {
+    if (state == State.CLOSED) {
+      return true;
+    }
+    if (state == State.OPEN && openPeriodOver()) {
+      state = State.HALF_OPEN;
+      return true;
+    }
+    rejected.increment();
+    return false;
+  }
+
+  /**
+   * How many of {@code wanted} sends would be admitted now: all while
+   * closed, one probe once the open period is over, otherwise none.
+   */
+  public synchronized int allowedSends(int wanted) {
+    if (state == State.CLOSED) {
+      return wanted;
+    }
+    return state == State.OPEN && openPeriodOver() ? Math.min(wanted, 1) : 0;
+  }
+
+  public synchronized void onSuccess() {
+    consecutiveFailures = 0;
+    if (state != State.CLOSED) {
+      state = State.CLOSED;
+      logger.info("✅ Kafka producer recovered, circuit breaker closed");
+    }
+  }
+
+  public synchronized void onFailure() {
+    consecutiveFailures++;
+    if (
+      state == State.HALF_OPEN ||
+      (state == State.CLOSED && consecutiveFailures >= failureThreshold)
+    ) {
+      state = State.OPEN;
+      openedAt = System.nanoTime();
+      logger.warn(
+        "⚠️ Kafka producer circuit breaker opened after {} failed sends",
+        consecutiveFailures
+      );
+    }
+  }
+
+  public synchronized State state() {
+    return state;
+  }
+
+  private boolean openPeriodOver() {
+    return System.nanoTime() - openedAt >= openNanos;
+  }
+}
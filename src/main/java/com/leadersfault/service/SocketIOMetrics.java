@@ -0,0 +1,50 @@
+package com.leadersfault.service;
+
+import com.corundumstudio.socketio.SocketIONamespace;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.namespace.Namespace;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes connected-client and room counts read from the
+ * {@link SocketIOServer} at scrape time. Every client sits in its
+ * namespace's unnamed default room, which is not counted.
+ */
+@Component
+public class SocketIOMetrics implements MeterBinder {
+
+  private final SocketIOServer server;
+
+  public SocketIOMetrics(SocketIOServer server) {
+    this.server = server;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge
+      .builder(
+        "socketio.clients.connected",
+        server,
+        s -> s.getAllClients().size()
+      )
+      .description("Clients currently connected to the Socket.IO server")
+      .register(registry);
+    Gauge
+      .builder("socketio.rooms", this, SocketIOMetrics::roomCount)
+      .description("Named rooms with at least one client")
+      .register(registry);
+  }
+
+  private double roomCount() {
+    long rooms = 0;
+    for (SocketIONamespace namespace : server.getAllNamespaces()) {
+      if (namespace instanceof Namespace named) {
+        rooms += named.getRooms().stream().filter(r -> !r.isEmpty()).count();
+      }
+    }
+    return rooms;
+  }
+}
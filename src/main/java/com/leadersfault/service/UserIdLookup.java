@@ -0,0 +1,49 @@
+package com.leadersfault.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.leadersfault.repository.UserRepository;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cached username to user id resolution, for tokens issued before the
+ * {@code uid} claim existed and for fault owners, who are stored by username.
+ * Usernames cannot change, so a positive entry never goes stale; unknown
+ * usernames are not cached.
+ */
+@Service
+public class UserIdLookup {
+
+  private final UserRepository userRepository;
+  private final Cache<String, Long> cache;
+
+  public UserIdLookup(
+    UserRepository userRepository,
+    @Value("${users.id-cache.max-size:50000}") long maxSize
+  ) {
+    this.userRepository = userRepository;
+    this.cache =
+      Caffeine
+        .newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterAccess(Duration.ofHours(6))
+        .recordStats()
+        .build();
+  }
+
+  public Optional<Long> findUserId(String username) {
+    if (username == null) {
+      return Optional.empty();
+    }
+    Long cached = cache.getIfPresent(username);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Optional<Long> userId = userRepository.findIdByUsername(username);
+    userId.ifPresent(id -> cache.put(username, id));
+    return userId;
+  }
+}
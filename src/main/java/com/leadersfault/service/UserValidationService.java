@@ -34,13 +34,8 @@ public class UserValidationService {
 
   public boolean isValidToken(String token) {
     try {
-      String username = jwtUtil.extractUsername(token);
-      if (username == null) {
-        return false;
-      }
-
-      // Validate token directly with username
-      return jwtUtil.validateToken(token, username);
+      // Signature and expiry are both checked by a single parse
+      return jwtUtil.validateAndParse(token).getSubject() != null;
     } catch (Exception e) {
       return false;
     }
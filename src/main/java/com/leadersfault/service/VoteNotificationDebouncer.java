@@ -0,0 +1,78 @@
+package com.leadersfault.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Lets through at most one vote notification per user, fault and vote type
+ * every {@code notifications.debounce.window}, so flipping a vote off and on
+ * cannot flood the outbox and the recipient, while switching from like to
+ * dislike still notifies. A vote opens the window only once its transaction
+ * commits, so a rolled-back vote never suppresses the next one; two votes
+ * committing at the same moment may both notify. Suppressed notifications are
+ * counted in {@code notifications.debounced}. The state is per instance,
+ * held in a bounded Caffeine map whose concurrent hash table locks per bin,
+ * so unrelated voters never contend. A zero window disables it.
+ */
+@Component
+public class VoteNotificationDebouncer {
+
+  private final Cache<String, Boolean> recent;
+  private final Counter debounced;
+
+  public VoteNotificationDebouncer(
+    MeterRegistry meterRegistry,
+    @Value("${notifications.debounce.window:60s}") Duration window,
+    @Value("${notifications.debounce.max-entries:100000}") long maxEntries
+  ) {
+    this.recent =
+      window.isZero()
+        ? null
+        : Caffeine
+          .newBuilder()
+          .maximumSize(maxEntries)
+          .expireAfterWrite(window)
+          .build();
+    this.debounced =
+      Counter
+        .builder("notifications.debounced")
+        .description("Vote notifications suppressed as repeats within the window")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Whether a notification for {@code userId}'s new {@code value} vote on
+   * {@code faultId} should be sent. A true answer opens the window once the
+   * surrounding transaction commits; later calls within it return false.
+   */
+  public boolean shouldNotify(Long userId, Long faultId, short value) {
+    if (recent == null) {
+      return true;
+    }
+    String key = userId + ":" + faultId + ":" + value;
+    if (recent.getIfPresent(key) != null) {
+      debounced.increment();
+      return false;
+    }
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            recent.put(key, true);
+          }
+        }
+      );
+    } else {
+      recent.put(key, true);
+    }
+    return true;
+  }
+}
@@ -0,0 +1,78 @@
+package com.leadersfault.service;
+
+import com.leadersfault.entity.FaultVote;
+import com.leadersfault.entity.LeaderVote;
+import com.leadersfault.repository.FaultVoteRepository;
+import com.leadersfault.repository.LeaderVoteRepository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Resolves the current user's vote on every item of a page with one indexed
+ * query, so mapping a page never depends on how many votes its items have.
+ */
+@Service
+public class VoteStatusResolver {
+
+  @Autowired
+  private FaultVoteRepository faultVoteRepository;
+
+  @Autowired
+  private LeaderVoteRepository leaderVoteRepository;
+
+  /**
+   * Maps every given fault id to "liked", "disliked" or "none".
+   */
+  @Transactional(readOnly = true)
+  public Map<Long, String> resolveFaultVotes(
+    Long userId,
+    Collection<Long> faultIds
+  ) {
+    Map<Long, String> statuses = new HashMap<>();
+    faultIds.forEach(faultId -> statuses.put(faultId, "none"));
+    if (userId == null || faultIds.isEmpty()) {
+      return statuses;
+    }
+
+    for (FaultVote vote : faultVoteRepository.findByUserIdAndFaultIdIn(
+      userId,
+      faultIds
+    )) {
+      statuses.put(
+        vote.getFaultId(),
+        vote.getValue() == FaultVote.LIKE ? "liked" : "disliked"
+      );
+    }
+    return statuses;
+  }
+
+  /**
+   * Maps each given leader id the user voted on to "LIKED" or "DISLIKED";
+   * leaders without a vote are absent.
+   */
+  @Transactional(readOnly = true)
+  public Map<Long, String> resolveLeaderVotes(
+    Long userId,
+    Collection<Long> leaderIds
+  ) {
+    Map<Long, String> statuses = new HashMap<>();
+    if (userId == null || leaderIds.isEmpty()) {
+      return statuses;
+    }
+
+    for (LeaderVote vote : leaderVoteRepository.findByUserIdAndLeaderIdIn(
+      userId,
+      leaderIds
+    )) {
+      statuses.put(
+        vote.getLeaderId(),
+        vote.getValue() == LeaderVote.LIKE ? "LIKED" : "DISLIKED"
+      );
+    }
+    return statuses;
+  }
+}
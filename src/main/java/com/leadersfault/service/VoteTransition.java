@@ -0,0 +1,19 @@
+package com.leadersfault.service;
+
+/**
+ * Outcome of applying a like or dislike request to a user's stored vote.
+ */
+public enum VoteTransition {
+  /** There was no vote; the requested one was recorded. */
+  CAST,
+  /** The opposite vote was replaced by the requested one. */
+  SWITCHED,
+  /** The requested vote was already present and has been withdrawn. */
+  RETRACTED,
+  /** Nothing changed. */
+  UNCHANGED;
+
+  public boolean isNewVote() {
+    return this == CAST || this == SWITCHED;
+  }
+}
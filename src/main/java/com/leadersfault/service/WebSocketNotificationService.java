@@ -17,6 +17,9 @@ public class WebSocketNotificationService {
   @Autowired
   private SocketIOServer socketIOServer;
 
+  @Autowired
+  private NotificationLatency notificationLatency;
+
   /**
    * Send notification via Socket.IO
    * Clients use socket.on('notification', ...) to receive notifications
@@ -35,9 +38,14 @@ public class WebSocketNotificationService {
     );
 
     // Emit to specific user's room
+    long emitStart = System.nanoTime();
     socketIOServer
       .getRoomOperations("user:" + userId)
       .sendEvent(eventName, notification);
+    notificationLatency.record(
+      NotificationLatency.Stage.SOCKET_EMIT,
+      System.nanoTime() - emitStart
+    );
 
     logger.info(
       "✅ Socket.IO notification sent successfully to user: {}",
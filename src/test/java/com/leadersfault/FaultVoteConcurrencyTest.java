@@ -0,0 +1,207 @@
+package com.leadersfault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leadersfault.entity.Fault;
+import com.leadersfault.entity.FaultVote;
+import com.leadersfault.entity.Leader;
+import com.leadersfault.entity.User;
+import com.leadersfault.service.FaultVoteService;
+import com.leadersfault.service.VoteTransition;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Fires likes and dislikes at one fault from many clients at once and checks
+ * that the counters on the fault still match its {@code fault_votes} rows.
+ * The number of concurrent HTTP clients defaults to 500 and can be changed
+ * with {@code -Dvote.concurrency=N}.
+ */
+class FaultVoteConcurrencyTest extends IntegrationTest {
+
+  private static final int CLIENTS = Integer.getInteger(
+    "vote.concurrency",
+    500
+  );
+  private static final int REPEATS = 32;
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private FaultVoteService faultVoteService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+
+  @Test
+  void concurrentVotesFromDistinctUsersKeepCountersInStep() throws Exception {
+    Fault fault = createFault(createUser(), createLeader());
+    List<Callable<List<Integer>>> clients = new ArrayList<>();
+    int likes = 0;
+    int dislikes = 0;
+    int requests = 0;
+    for (int i = 0; i < CLIENTS; i++) {
+      String token = bearer(createUser());
+      // Each client sends its own votes in order, so its final vote is known:
+      // a like, a dislike, a like switched to a dislike, or a retracted like
+      List<String> actions = switch (i % 4) {
+        case 0 -> List.of("like");
+        case 1 -> List.of("dislike");
+        case 2 -> List.of("like", "dislike");
+        default -> List.of("like", "like");
+      };
+      likes += i % 4 == 0 ? 1 : 0;
+      dislikes += i % 4 == 1 || i % 4 == 2 ? 1 : 0;
+      requests += actions.size();
+      clients.add(() -> {
+        List<Integer> statuses = new ArrayList<>();
+        for (String action : actions) {
+          statuses.add(vote(fault, token, action));
+        }
+        return statuses;
+      });
+    }
+
+    List<Integer> statuses = runTogether(clients)
+      .stream()
+      .flatMap(List::stream)
+      .collect(Collectors.toList());
+    assertThat(statuses).hasSize(requests).containsOnly(200);
+    assertThat(votes(fault, FaultVote.LIKE)).isEqualTo(likes);
+    assertThat(votes(fault, FaultVote.DISLIKE)).isEqualTo(dislikes);
+    assertCountersMatchVotes(fault);
+  }
+
+  @Test
+  void repeatedRequestsFromOneUserAreUnchangedOrAValidToggle()
+    throws Exception {
+    Fault fault = createFault(createUser(), createLeader());
+    User voter = createUser();
+    List<Callable<Map.Entry<Short, VoteTransition>>> requests = new ArrayList<>();
+    for (int i = 0; i < REPEATS; i++) {
+      short value = i % 3 == 0 ? FaultVote.DISLIKE : FaultVote.LIKE;
+      requests.add(() ->
+        Map.entry(
+          value,
+          faultVoteService.toggleVote(fault.getId(), voter.getId(), value)
+        )
+      );
+    }
+
+    // Replaying the reported transitions must arrive at the stored vote:
+    // a request that changed nothing has to say UNCHANGED
+    int likes = 0;
+    int dislikes = 0;
+    for (Map.Entry<Short, VoteTransition> result : runTogether(requests)) {
+      int sign = result.getKey() == FaultVote.LIKE ? 1 : -1;
+      switch (result.getValue()) {
+        case CAST -> {
+          likes += sign > 0 ? 1 : 0;
+          dislikes += sign < 0 ? 1 : 0;
+        }
+        case SWITCHED -> {
+          likes += sign;
+          dislikes -= sign;
+        }
+        case RETRACTED -> {
+          likes -= sign > 0 ? 1 : 0;
+          dislikes -= sign < 0 ? 1 : 0;
+        }
+        case UNCHANGED -> {}
+      }
+    }
+    assertThat(votes(fault, FaultVote.LIKE)).isEqualTo(likes);
+    assertThat(votes(fault, FaultVote.DISLIKE)).isEqualTo(dislikes);
+    assertThat(likes + dislikes).isBetween(0, 1);
+    assertCountersMatchVotes(fault);
+  }
+
+  private int vote(Fault fault, String token, String action)
+    throws Exception {
+    HttpRequest request = HttpRequest
+      .newBuilder(
+        URI.create(
+          "http://localhost:" +
+          port +
+          "/api/faults/" +
+          fault.getId() +
+          "/" +
+          action
+        )
+      )
+      .header("Authorization", token)
+      .timeout(Duration.ofSeconds(60))
+      .POST(HttpRequest.BodyPublishers.noBody())
+      .build();
+    return httpClient
+      .send(request, HttpResponse.BodyHandlers.discarding())
+      .statusCode();
+  }
+
+  /** Releases every call at the same instant and waits for all of them. */
+  private <T> List<T> runTogether(List<Callable<T>> calls) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(calls.size());
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<T>> futures = new ArrayList<>();
+      for (Callable<T> call : calls) {
+        futures.add(
+          executor.submit(() -> {
+            start.await();
+            return call.call();
+          })
+        );
+      }
+      start.countDown();
+      List<T> results = new ArrayList<>();
+      for (Future<T> future : futures) {
+        results.add(future.get(2, TimeUnit.MINUTES));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void assertCountersMatchVotes(Fault fault) {
+    Map<String, Object> counters = jdbcTemplate.queryForMap(
+      "SELECT like_count, dislike_count FROM faults WHERE id = ?",
+      fault.getId()
+    );
+    assertThat(counters.get("like_count"))
+      .as("like_count")
+      .isEqualTo(votes(fault, FaultVote.LIKE));
+    assertThat(counters.get("dislike_count"))
+      .as("dislike_count")
+      .isEqualTo(votes(fault, FaultVote.DISLIKE));
+  }
+
+  private int votes(Fault fault, short value) {
+    return jdbcTemplate.queryForObject(
+      "SELECT COUNT(*) FROM fault_votes WHERE fault_id = ? AND value = ?",
+      Integer.class,
+      fault.getId(),
+      value
+    );
+  }
+}
@@ -0,0 +1,158 @@
+package com.leadersfault;
+
+import com.leadersfault.config.QueryBudgetRecorder;
+import com.leadersfault.config.StubUploads;
+import com.leadersfault.entity.Fault;
+import com.leadersfault.entity.Leader;
+import com.leadersfault.entity.User;
+import com.leadersfault.repository.FaultRepository;
+import com.leadersfault.repository.LeaderRepository;
+import com.leadersfault.repository.UserRepository;
+import com.leadersfault.security.JwtUtil;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Runs the whole application against an embedded Postgres server shared by
+ * every test class, with the in-process notification transport so no broker
+ * is needed, and image uploads stubbed. Subclasses share one application context; each test creates
+ * its own uniquely named users, leaders and faults.
+ */
+@SpringBootTest(
+  webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+  properties = {
+    "notifications.transport=in-process",
+    "telemetry.sink=none",
+    "SERVER_URL=http://localhost",
+    "CLOUDINARY_CLOUD_NAME=test",
+    "CLOUDINARY_API_KEY=test",
+    "CLOUDINARY_API_SECRET=test",
+    "socketio.host=127.0.0.1",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.leadersfault.config.QueryCounter",
+  }
+)
+@AutoConfigureMockMvc
+@Import({ QueryBudgetRecorder.class, StubUploads.class })
+public abstract class IntegrationTest {
+
+  private static final EmbeddedPostgres POSTGRES = startPostgres();
+  private static final KeyPair JWT_KEYS = generateKeys();
+  // Every run starts a fresh database, so a counter keeps names unique
+  private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+  @Autowired
+  protected UserRepository userRepository;
+
+  @Autowired
+  protected LeaderRepository leaderRepository;
+
+  @Autowired
+  protected FaultRepository faultRepository;
+
+  @Autowired
+  protected JwtUtil jwtUtil;
+
+  @DynamicPropertySource
+  static void standIns(DynamicPropertyRegistry registry) {
+    Base64.Encoder encoder = Base64.getEncoder();
+    registry.add("DB_URL", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+    registry.add("DB_USERNAME", () -> "postgres");
+    registry.add("DB_PASSWORD", () -> "postgres");
+    registry.add(
+      "JWT_PRIVATE_KEY_BASE64",
+      () -> encoder.encodeToString(JWT_KEYS.getPrivate().getEncoded())
+    );
+    registry.add(
+      "JWT_PUBLIC_KEY_BASE64",
+      () -> encoder.encodeToString(JWT_KEYS.getPublic().getEncoded())
+    );
+    registry.add("socketio.port", IntegrationTest::freePort);
+  }
+
+  protected User createUser() {
+    String name = unique("user");
+    User user = new User();
+    user.setUsername(name);
+    user.setEmail(name + "@example.com");
+    user.setPassword("not-a-real-hash");
+    return userRepository.save(user);
+  }
+
+  protected String bearer(User user) {
+    return "Bearer " + jwtUtil.generateToken(user.getUsername(), user.getId());
+  }
+
+  protected Leader createLeader() {
+    Leader leader = new Leader();
+    leader.setName(unique("leader"));
+    leader.setDescription("A leader");
+    leader.setImageUrl("https://example.com/leader.png");
+    return leaderRepository.save(leader);
+  }
+
+  protected Fault createFault(User owner, Leader... leaders) {
+    Fault fault = new Fault();
+    fault.setTitle(unique("fault"));
+    fault.setDescription("A fault");
+    fault.setImageUrl("https://example.com/fault.png");
+    fault.setUploadedBy(owner.getUsername());
+    fault.setLeaders(List.of(leaders));
+    return faultRepository.save(fault);
+  }
+
+  protected static String unique(String prefix) {
+    return prefix + "-" + SEQUENCE.incrementAndGet();
+  }
+
+  private static EmbeddedPostgres startPostgres() {
+    try {
+      EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+      Runtime
+        .getRuntime()
+        .addShutdownHook(
+          new Thread(() -> {
+            try {
+              postgres.close();
+            } catch (IOException e) {
+              // The JVM is exiting; the server dies with it
+            }
+          })
+        );
+      return postgres;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static KeyPair generateKeys() {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(2048);
+      return generator.generateKeyPair();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static int freePort() {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
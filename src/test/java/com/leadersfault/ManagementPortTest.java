@@ -0,0 +1,48 @@
+package com.leadersfault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+/** Actuator and cache statistics must never be served on the public port. */
+class ManagementPortTest extends IntegrationTest {
+
+  @LocalServerPort
+  private int port;
+
+  @LocalManagementPort
+  private int managementPort;
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+
+  @Test
+  void publicPortServesNoManagementEndpoints() throws Exception {
+    assertThat(managementPort).isNotEqualTo(port);
+    assertThat(get(port, "/actuator/health")).isEqualTo(404);
+    assertThat(get(port, "/actuator/metrics")).isEqualTo(404);
+    assertThat(get(port, "/actuator/cachestats")).isEqualTo(404);
+    assertThat(get(port, "/api/internal/cache-stats")).isEqualTo(404);
+  }
+
+  @Test
+  void managementPortServesMetricsAndCacheStats() throws Exception {
+    assertThat(get(managementPort, "/actuator/health")).isEqualTo(200);
+    assertThat(get(managementPort, "/actuator/metrics")).isEqualTo(200);
+    assertThat(get(managementPort, "/actuator/cachestats")).isEqualTo(200);
+  }
+
+  private int get(int port, String path) throws Exception {
+    HttpRequest request = HttpRequest
+      .newBuilder(URI.create("http://127.0.0.1:" + port + path))
+      .build();
+    return httpClient
+      .send(request, HttpResponse.BodyHandlers.discarding())
+      .statusCode();
+  }
+}
@@ -0,0 +1,338 @@
+package com.leadersfault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leadersfault.config.QueryBudget;
+import com.leadersfault.config.QueryBudgetRecorder;
+import com.leadersfault.config.QueryBudgetRecorder.Measurement;
+import com.leadersfault.config.StubUploads;
+import com.leadersfault.entity.Fault;
+import com.leadersfault.entity.Leader;
+import com.leadersfault.entity.Notification;
+import com.leadersfault.entity.NotificationType;
+import com.leadersfault.entity.User;
+import com.leadersfault.repository.NotificationRepository;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Drives every {@link QueryBudget} handler against a seeded database, cold
+ * and warm, signed in and anonymous, and fails when any request issues more
+ * statements than its handler allows. Every handler of the application must
+ * declare a budget.
+ */
+class QueryBudgetTest extends IntegrationTest {
+
+  private static final int FAULTS = 12;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private QueryBudgetRecorder recorder;
+
+  @Autowired
+  @Qualifier("requestMappingHandlerMapping")
+  private RequestMappingHandlerMapping handlerMapping;
+
+  @Autowired
+  private NotificationRepository notificationRepository;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private User owner;
+  private User voter;
+  private Leader leader;
+  private Fault fault;
+  private List<Notification> notifications;
+
+  @BeforeEach
+  void seed() {
+    owner = createUser();
+    voter = createUser();
+    leader = createLeader();
+    Leader other = createLeader();
+    for (int i = 0; i < FAULTS; i++) {
+      fault = createFault(owner, leader, other);
+    }
+    notifications = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      notifications.add(notificationRepository.save(notificationFor(voter)));
+    }
+    recorder.reset();
+  }
+
+  @Test
+  void everyBudgetedEndpointStaysWithinItsBudget() throws Exception {
+    for (int pass = 0; pass < 2; pass++) {
+      readFaults(null);
+      readFaults(bearer(voter));
+      readLeaders(null);
+      readLeaders(bearer(voter));
+      vote(bearer(voter));
+    }
+    readNotifications(bearer(voter));
+    writeFaults(bearer(owner));
+    writeLeaders(bearer(owner));
+    authenticate();
+    readOidc();
+
+    List<Measurement> measurements = recorder.measurements();
+    assertThat(measurements)
+      .as("requests over their query budget")
+      .filteredOn(Measurement::isOverBudget)
+      .isEmpty();
+
+    Set<String> measured = measurements
+      .stream()
+      .map(Measurement::getHandler)
+      .collect(Collectors.toSet());
+    Set<String> budgeted = handlerMapping
+      .getHandlerMethods()
+      .values()
+      .stream()
+      .filter(method -> method.hasMethodAnnotation(QueryBudget.class))
+      .map(QueryBudgetRecorder::nameOf)
+      .collect(Collectors.toSet());
+    assertThat(measured)
+      .as("budgeted handlers this test drives")
+      .isEqualTo(budgeted);
+  }
+
+  @Test
+  void everyHandlerDeclaresABudget() {
+    List<String> unbudgeted = handlerMapping
+      .getHandlerMethods()
+      .values()
+      .stream()
+      .filter(QueryBudgetTest::isApplicationHandler)
+      .filter(method -> !method.hasMethodAnnotation(QueryBudget.class))
+      .map(QueryBudgetRecorder::nameOf)
+      .sorted()
+      .collect(Collectors.toList());
+    assertThat(unbudgeted).as("handlers without @QueryBudget").isEmpty();
+  }
+
+  private void readFaults(String token) throws Exception {
+    perform(get("/api/faults"), token);
+    perform(get("/api/faults").param("page", "1").param("limit", "5"), token);
+    perform(get("/api/faults").param("cursor", ""), token);
+    perform(get("/api/faults/{id}", fault.getId()), token);
+  }
+
+  private void readLeaders(String token) throws Exception {
+    perform(get("/api/leaders"), token);
+    perform(get("/api/leaders").param("cursor", ""), token);
+    perform(get("/api/leaders/{id}", leader.getId()), token);
+    perform(get("/api/leaders/{id}/faults", leader.getId()), token);
+    perform(
+      get("/api/leaders/{id}/faults", leader.getId()).param("cursor", ""),
+      token
+    );
+    perform(
+      get("/api/leaders/search").param("query", leader.getName()),
+      token
+    );
+  }
+
+  private void vote(String token) throws Exception {
+    perform(post("/api/faults/{id}/like", fault.getId()), token);
+    perform(post("/api/faults/{id}/dislike", fault.getId()), token);
+    perform(post("/api/leaders/{id}/like", leader.getId()), token);
+    perform(post("/api/leaders/{id}/dislike", leader.getId()), token);
+  }
+
+  private void readNotifications(String token) throws Exception {
+    perform(get("/api/notifications"), token);
+    perform(get("/api/notifications").param("filter", "unread"), token);
+    perform(get("/api/notifications/unread-count"), token);
+    perform(
+      put("/api/notifications/{id}/read", notifications.get(0).getId()),
+      token
+    );
+    perform(put("/api/notifications/mark-all-read"), token);
+    perform(
+      delete("/api/notifications/{id}", notifications.get(1).getId()),
+      token
+    );
+  }
+
+  private void writeFaults(String token) throws Exception {
+    MvcResult created = perform(
+      multipart("/api/faults")
+        .file(text("title", unique("fault")))
+        .file(text("description", "A fault"))
+        .file(text("leaderIds", "[" + leader.getId() + "]"))
+        .file(image()),
+      token
+    );
+    perform(delete("/api/faults/{id}", idOf(created)), token);
+  }
+
+  private void writeLeaders(String token) throws Exception {
+    perform(
+      multipart("/api/leaders")
+        .file(text("name", unique("leader")))
+        .file(text("description", "A leader"))
+        .file(image()),
+      token
+    );
+    perform(
+      post("/api/leaders/{id}/faults", leader.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(
+          json(
+            "title",
+            unique("fault"),
+            "description",
+            "A fault",
+            "imageUrl",
+            StubUploads.IMAGE_URL,
+            "uploadedBy",
+            owner.getUsername()
+          )
+        ),
+      token
+    );
+    perform(
+      multipart("/api/leaders/{id}/faults/upload", leader.getId())
+        .file(
+          new MockMultipartFile(
+            "fault",
+            "",
+            MediaType.APPLICATION_JSON_VALUE,
+            json("title", unique("fault"), "description", "A fault")
+              .getBytes()
+          )
+        )
+        .file(image()),
+      token
+    );
+  }
+
+  private void authenticate() throws Exception {
+    String username = unique("user");
+    perform(
+      post("/api/auth/register")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(
+          json(
+            "username",
+            username,
+            "email",
+            username + "@example.com",
+            "password",
+            "secret"
+          )
+        ),
+      null
+    );
+    perform(
+      post("/api/auth/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(json("username", username, "password", "secret")),
+      null
+    );
+    perform(post("/api/auth/validate"), bearer(voter));
+    perform(get("/api/auth/me"), bearer(voter));
+    perform(
+      get("/api/auth/search").param("query", voter.getUsername()),
+      bearer(voter)
+    );
+  }
+
+  private void readOidc() throws Exception {
+    perform(get("/.well-known/openid-configuration"), null);
+    perform(get("/.well-known/jwks.json"), null);
+  }
+
+  private MvcResult perform(
+    MockHttpServletRequestBuilder request,
+    String token
+  ) throws Exception {
+    RequestBuilder builder = token == null
+      ? request
+      : request.header(HttpHeaders.AUTHORIZATION, token);
+    return mockMvc
+      .perform(builder)
+      .andExpect(status().is2xxSuccessful())
+      .andReturn();
+  }
+
+  private long idOf(MvcResult result) throws Exception {
+    return objectMapper
+      .readTree(result.getResponse().getContentAsString())
+      .get("id")
+      .asLong();
+  }
+
+  private String json(String... keysAndValues) throws Exception {
+    Map<String, String> body = new LinkedHashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      body.put(keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return objectMapper.writeValueAsString(body);
+  }
+
+  private static MockMultipartFile text(String name, String value) {
+    return new MockMultipartFile(
+      name,
+      "",
+      MediaType.TEXT_PLAIN_VALUE,
+      value.getBytes()
+    );
+  }
+
+  private static MockMultipartFile image() {
+    return new MockMultipartFile(
+      "image",
+      "fault.png",
+      MediaType.IMAGE_PNG_VALUE,
+      new byte[] { 1, 2, 3 }
+    );
+  }
+
+  /** Handlers of this application, not Spring Boot's error controller. */
+  private static boolean isApplicationHandler(HandlerMethod method) {
+    return method
+      .getBeanType()
+      .getPackageName()
+      .startsWith("com.leadersfault");
+  }
+
+  private Notification notificationFor(User user) {
+    Notification notification = new Notification();
+    notification.setUserId(user.getId());
+    notification.setMessage("Someone liked your fault");
+    notification.setType(NotificationType.FAULT_LIKED);
+    notification.setFaultId(fault.getId());
+    notification.setFaultTitle(fault.getTitle());
+    notification.setActionBy("someone");
+    return notification;
+  }
+}
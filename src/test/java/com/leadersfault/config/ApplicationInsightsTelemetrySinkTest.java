@@ -0,0 +1,54 @@
+package com.leadersfault.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ApplicationInsightsTelemetrySinkTest {
+
+  @Test
+  void metricsCarryTheirHistogram() throws Exception {
+    MetricAggregate aggregate = new MetricAggregate(
+      "upload.seconds",
+      Map.of("route", "faults")
+    );
+    aggregate.record(0.3);
+    aggregate.record(0.5);
+    aggregate.record(0.9);
+    aggregate.record(Double.MAX_VALUE);
+    TelemetryClient telemetryClient = mock(TelemetryClient.class);
+
+    new ApplicationInsightsTelemetrySink(telemetryClient)
+      .send(List.of(), List.of(aggregate.snapshotAndReset()));
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Map<String, String>> properties = ArgumentCaptor.forClass(
+      Map.class
+    );
+    verify(telemetryClient)
+      .trackMetric(
+        eq("upload.seconds"),
+        anyDouble(),
+        eq(4),
+        anyDouble(),
+        anyDouble(),
+        anyDouble(),
+        properties.capture()
+      );
+    assertThat(properties.getValue())
+      .containsEntry("route", "faults")
+      .containsEntry(
+        ApplicationInsightsTelemetrySink.HISTOGRAM_PROPERTY,
+        "{\"0.5\":2,\"1.0\":1,\"+Inf\":1}"
+      );
+  }
+}
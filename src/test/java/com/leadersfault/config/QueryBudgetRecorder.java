@@ -0,0 +1,127 @@
+package com.leadersfault.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Counts the statements of every request to a {@link QueryBudget} handler
+ * with {@link QueryCounter} and keeps the result for the test to check.
+ * Requests must run on the calling thread, as MockMvc does, for the count to
+ * include them.
+ */
+@TestConfiguration
+public class QueryBudgetRecorder
+  implements HandlerInterceptor, WebMvcConfigurer {
+
+  /** One request to a budgeted handler. */
+  public static final class Measurement {
+
+    private final String handler;
+    private final String request;
+    private final int budget;
+    private final int statements;
+
+    private Measurement(
+      String handler,
+      String request,
+      int budget,
+      int statements
+    ) {
+      this.handler = handler;
+      this.request = request;
+      this.budget = budget;
+      this.statements = statements;
+    }
+
+    public String getHandler() {
+      return handler;
+    }
+
+    public boolean isOverBudget() {
+      return statements > budget;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+        "%s (%s) ran %d statements, budget %d",
+        request,
+        handler,
+        statements,
+        budget
+      );
+    }
+  }
+
+  private final ConcurrentLinkedQueue<Measurement> measurements = new ConcurrentLinkedQueue<>();
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(this);
+  }
+
+  @Override
+  public boolean preHandle(
+    HttpServletRequest request,
+    HttpServletResponse response,
+    Object handler
+  ) {
+    if (budgetOf(handler) != null) {
+      QueryCounter.start();
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+    HttpServletRequest request,
+    HttpServletResponse response,
+    Object handler,
+    Exception ex
+  ) {
+    QueryBudget budget = budgetOf(handler);
+    if (budget == null) {
+      return;
+    }
+    int statements = QueryCounter.stop();
+    if (statements >= 0) {
+      measurements.add(
+        new Measurement(
+          nameOf((HandlerMethod) handler),
+          request.getMethod() + " " + request.getRequestURI(),
+          budget.value(),
+          statements
+        )
+      );
+    }
+  }
+
+  public List<Measurement> measurements() {
+    return new ArrayList<>(measurements);
+  }
+
+  public void reset() {
+    measurements.clear();
+  }
+
+  public static String nameOf(HandlerMethod method) {
+    return (
+      method.getBeanType().getSimpleName() + "." + method.getMethod().getName()
+    );
+  }
+
+  private static QueryBudget budgetOf(Object handler) {
+    if (handler instanceof HandlerMethod method) {
+      return method.getMethodAnnotation(QueryBudget.class);
+    }
+    return null;
+  }
+}
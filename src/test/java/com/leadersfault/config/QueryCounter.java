@@ -0,0 +1,36 @@
+package com.leadersfault.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * count is active. Registered through
+ * {@code hibernate.session_factory.statement_inspector}, so Hibernate creates
+ * the instance and the state lives in a thread local. Statements on threads
+ * without an active count (listeners, schedulers) are not tracked.
+ */
+public class QueryCounter implements StatementInspector {
+
+  private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+  /** Starts counting on this thread from zero. */
+  public static void start() {
+    COUNT.set(new int[1]);
+  }
+
+  /** Stops counting on this thread and returns the count, or -1 if none. */
+  public static int stop() {
+    int[] count = COUNT.get();
+    COUNT.remove();
+    return count != null ? count[0] : -1;
+  }
+
+  @Override
+  public String inspect(String sql) {
+    int[] count = COUNT.get();
+    if (count != null) {
+      count[0]++;
+    }
+    return sql;
+  }
+}
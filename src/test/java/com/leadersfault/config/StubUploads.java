@@ -0,0 +1,25 @@
+package com.leadersfault.config;
+
+import com.leadersfault.service.CloudinaryService;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.multipart.MultipartFile;
+
+/** Answers image uploads with a fixed URL instead of calling Cloudinary. */
+@TestConfiguration
+public class StubUploads {
+
+  public static final String IMAGE_URL = "https://example.com/upload.png";
+
+  @Bean
+  @Primary
+  CloudinaryService stubCloudinaryService() {
+    return new CloudinaryService() {
+      @Override
+      public String uploadFile(MultipartFile file) {
+        return IMAGE_URL;
+      }
+    };
+  }
+}
@@ -0,0 +1,67 @@
+package com.leadersfault.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.leadersfault.IntegrationTest;
+import com.leadersfault.entity.Fault;
+import com.leadersfault.entity.Leader;
+import com.leadersfault.entity.User;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class FaultServiceTest extends IntegrationTest {
+
+  @Autowired
+  private FaultService faultService;
+
+  @Test
+  void createAndDeleteKeepLeaderFaultCounts() {
+    User owner = createUser();
+    Leader first = createLeader();
+    Leader second = createLeader();
+
+    Fault fault = faultService.createFault(newFault(owner, first, second));
+    assertThat(faultCountOf(first)).isEqualTo(1);
+    assertThat(faultCountOf(second)).isEqualTo(1);
+
+    faultService.deleteFault(fault);
+    assertThat(faultCountOf(first)).isZero();
+    assertThat(faultCountOf(second)).isZero();
+    assertThat(faultRepository.existsById(fault.getId())).isFalse();
+  }
+
+  @Test
+  void failedCreateLeavesNoCountBehind() {
+    User owner = createUser();
+    Leader leader = createLeader();
+    Leader missing = new Leader();
+    missing.setId(Long.MAX_VALUE);
+
+    // The count is bumped before the insert fails on the unknown leader
+    assertThatThrownBy(() ->
+        faultService.createFault(newFault(owner, leader, missing))
+      )
+      .isInstanceOf(RuntimeException.class);
+    assertThat(faultCountOf(leader)).isZero();
+  }
+
+  private Fault newFault(User owner, Leader... leaders) {
+    Fault fault = new Fault();
+    fault.setTitle(unique("fault"));
+    fault.setDescription("A fault");
+    fault.setImageUrl("https://example.com/fault.png");
+    fault.setUploadedBy(owner.getUsername());
+    fault.setLeaders(new ArrayList<>(List.of(leaders)));
+    return fault;
+  }
+
+  private int faultCountOf(Leader leader) {
+    return leaderRepository
+      .findById(leader.getId())
+      .orElseThrow()
+      .getNumberOfFaults();
+  }
+}
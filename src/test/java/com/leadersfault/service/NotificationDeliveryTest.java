@@ -0,0 +1,78 @@
+package com.leadersfault.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leadersfault.IntegrationTest;
+import com.leadersfault.dto.NotificationEvent;
+import com.leadersfault.entity.Fault;
+import com.leadersfault.entity.Notification;
+import com.leadersfault.entity.NotificationActor;
+import com.leadersfault.entity.NotificationType;
+import com.leadersfault.entity.User;
+import com.leadersfault.repository.NotificationActorRepository;
+import com.leadersfault.repository.NotificationRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class NotificationDeliveryTest extends IntegrationTest {
+
+  @Autowired
+  private NotificationDelivery notificationDelivery;
+
+  @Autowired
+  private NotificationRepository notificationRepository;
+
+  @Autowired
+  private NotificationActorRepository notificationActorRepository;
+
+  @Test
+  void returningVotersAreCountedOnce() {
+    User owner = createUser();
+    Fault fault = createFault(owner, createLeader());
+
+    deliver(owner, fault, "alice", "bob", "alice");
+    deliver(owner, fault, "bob");
+    deliver(owner, fault, "alice", "carol");
+
+    List<Notification> notifications = notificationRepository.findByUserId(
+      owner.getId()
+    );
+    assertThat(notifications).hasSize(1);
+    Notification notification = notifications.get(0);
+    assertThat(notification.getActorCount()).isEqualTo(3);
+    assertThat(notification.getActionBy()).isEqualTo("carol");
+    assertThat(notification.getMessage())
+      .isEqualTo("carol and 2 others agreed with the fault you posted");
+    assertThat(notificationActorRepository.findAll())
+      .filteredOn(actor ->
+        actor.getNotificationId().equals(notification.getId())
+      )
+      .extracting(NotificationActor::getUsername)
+      .containsExactlyInAnyOrder("alice", "bob", "carol");
+  }
+
+  private void deliver(User owner, Fault fault, String... voters) {
+    List<NotificationEvent> events = new ArrayList<>();
+    for (String voter : voters) {
+      events.add(
+        new NotificationEvent(
+          NotificationType.FAULT_LIKED,
+          fault.getId(),
+          fault.getTitle(),
+          owner.getUsername(),
+          owner.getId(),
+          voter,
+          LocalDateTime.now()
+        )
+      );
+    }
+    notificationDelivery.deliverBatch(
+      events,
+      Arrays.asList(new NotificationTrace[events.size()])
+    );
+  }
+}
@@ -0,0 +1,205 @@
+package com.leadersfault.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leadersfault.IntegrationTest;
+import com.leadersfault.entity.Fault;
+import com.leadersfault.entity.FaultVote;
+import com.leadersfault.entity.Leader;
+import com.leadersfault.entity.Notification;
+import com.leadersfault.entity.User;
+import com.leadersfault.repository.NotificationRepository;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Interleaves votes from two sessions on faults of the same recipients:
+ * while one session's vote is still uncommitted, the other votes for the
+ * same recipient. The relay is held off meanwhile, so it then sees all rows
+ * at once, and each recipient must still get the notifications in the order
+ * the votes committed.
+ */
+class NotificationOrderTest extends IntegrationTest {
+
+  private static final int ROUNDS = 6;
+
+  @Autowired
+  private FaultVoteService faultVoteService;
+
+  @Autowired
+  private NotificationRepository notificationRepository;
+
+  @Autowired
+  private NotificationOutboxRelay relay;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Test
+  void eachRecipientGetsVotesInCommitOrder() throws Exception {
+    List<User> recipients = List.of(createUser(), createUser());
+    List<User> voters = List.of(createUser(), createUser());
+    Leader leader = createLeader();
+    Map<Long, List<Long>> committed = new ConcurrentHashMap<>();
+    List<ExecutorService> sessions = List.of(
+      Executors.newSingleThreadExecutor(),
+      Executors.newSingleThreadExecutor()
+    );
+
+    try (Connection connection = dataSource.getConnection()) {
+      relayLock(connection, "pg_advisory_lock");
+      try {
+        for (int round = 0; round < ROUNDS; round++) {
+          User recipient = recipients.get(round % 2);
+          int first = (round / 2) % 2;
+          int second = 1 - first;
+          Fault firstFault = createFault(recipient, leader);
+          Fault secondFault = createFault(recipient, leader);
+          CountDownLatch written = new CountDownLatch(1);
+          CountDownLatch release = new CountDownLatch(1);
+
+          Future<?> held = sessions
+            .get(first)
+            .submit(() ->
+              vote(
+                voters.get(first),
+                firstFault,
+                recipient,
+                committed,
+                () -> {
+                  written.countDown();
+                  await(release);
+                }
+              )
+            );
+          assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+          Future<?> overtaking = sessions
+            .get(second)
+            .submit(() ->
+              vote(voters.get(second), secondFault, recipient, committed, null)
+            );
+          try {
+            overtaking.get(300, TimeUnit.MILLISECONDS);
+          } catch (TimeoutException e) {
+            // Waiting for the recipient's lock held by the first vote
+          }
+          release.countDown();
+          held.get(10, TimeUnit.SECONDS);
+          overtaking.get(10, TimeUnit.SECONDS);
+        }
+      } finally {
+        relayLock(connection, "pg_advisory_unlock");
+      }
+    } finally {
+      sessions.forEach(ExecutorService::shutdownNow);
+    }
+    relay.wakeUp();
+
+    for (User recipient : recipients) {
+      List<Long> expected = committed.get(recipient.getId());
+      assertThat(expected).hasSize(ROUNDS);
+      assertThat(deliveredFaultIds(recipient, expected.size()))
+        .as("faults in notification order for %s", recipient.getUsername())
+        .isEqualTo(expected);
+    }
+  }
+
+  /**
+   * Likes {@code fault} in its own transaction. Just before the commit it
+   * records the vote, while it still holds its locks, and then runs
+   * {@code beforeCommit}.
+   */
+  private void vote(
+    User voter,
+    Fault fault,
+    User recipient,
+    Map<Long, List<Long>> committed,
+    Runnable beforeCommit
+  ) {
+    transactionTemplate.executeWithoutResult(status -> {
+      faultVoteService.toggleVoteAndNotify(
+        fault.getId(),
+        voter.getId(),
+        voter.getUsername(),
+        FaultVote.LIKE
+      );
+      TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void beforeCommit(boolean readOnly) {
+            committed
+              .computeIfAbsent(
+                recipient.getId(),
+                id -> Collections.synchronizedList(new ArrayList<>())
+              )
+              .add(fault.getId());
+          }
+        }
+      );
+      if (beforeCommit != null) {
+        beforeCommit.run();
+      }
+    });
+  }
+
+  private List<Long> deliveredFaultIds(User recipient, int count)
+    throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    List<Notification> notifications = notificationRepository.findByUserId(
+      recipient.getId()
+    );
+    while (notifications.size() < count && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+      notifications = notificationRepository.findByUserId(recipient.getId());
+    }
+    // Stored in delivery order, so ids follow it
+    return notifications
+      .stream()
+      .sorted(Comparator.comparing(Notification::getId))
+      .map(Notification::getFaultId)
+      .collect(Collectors.toList());
+  }
+
+  /** Holding the relay's lock stands in for another instance relaying. */
+  private static void relayLock(Connection connection, String function)
+    throws Exception {
+    try (
+      PreparedStatement statement = connection.prepareStatement(
+        "SELECT " + function + "(?)"
+      )
+    ) {
+      statement.setLong(1, NotificationOutboxRelay.RELAY_LOCK_KEY);
+      statement.execute();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
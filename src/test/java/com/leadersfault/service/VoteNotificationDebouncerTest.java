@@ -0,0 +1,60 @@
+package com.leadersfault.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leadersfault.entity.FaultVote;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class VoteNotificationDebouncerTest {
+
+  private final VoteNotificationDebouncer debouncer = new VoteNotificationDebouncer(
+    new SimpleMeterRegistry(),
+    Duration.ofMinutes(1),
+    1000
+  );
+
+  @Test
+  void repeatOfACommittedVoteIsSuppressed() {
+    assertThat(inTransaction(FaultVote.LIKE, true)).isTrue();
+    assertThat(inTransaction(FaultVote.LIKE, true)).isFalse();
+  }
+
+  @Test
+  void switchingVoteTypeStillNotifies() {
+    assertThat(inTransaction(FaultVote.LIKE, true)).isTrue();
+    assertThat(inTransaction(FaultVote.DISLIKE, true)).isTrue();
+  }
+
+  @Test
+  void rolledBackVoteDoesNotSuppressTheNextOne() {
+    assertThat(inTransaction(FaultVote.LIKE, false)).isTrue();
+    assertThat(inTransaction(FaultVote.LIKE, true)).isTrue();
+  }
+
+  /** Asks the debouncer inside a simulated transaction that then ends. */
+  private boolean inTransaction(short value, boolean commit) {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      boolean notify = debouncer.shouldNotify(1L, 2L, value);
+      List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+      for (TransactionSynchronization synchronization : synchronizations) {
+        if (commit) {
+          synchronization.afterCommit();
+        }
+        synchronization.afterCompletion(
+          commit
+            ? TransactionSynchronization.STATUS_COMMITTED
+            : TransactionSynchronization.STATUS_ROLLED_BACK
+        );
+      }
+      return notify;
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+}